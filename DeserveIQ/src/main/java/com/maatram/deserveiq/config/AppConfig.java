@@ -1,14 +1,44 @@
 package com.maatram.deserveiq.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.BufferingClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
 @Configuration
 public class AppConfig {
 
+    // JDK HttpClient (no extra dependency): blocks without pinning virtual threads
+    @Bean
+    public RestTemplate restTemplate(@Value("${ml.api.connect-timeout-ms:5000}") long connectTimeoutMs,
+                                     @Value("${ml.api.read-timeout-ms:60000}") long readTimeoutMs) {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+
+        JdkClientHttpRequestFactory rf = new JdkClientHttpRequestFactory(client);
+        rf.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+
+        // buffered so requests carry Content-Length instead of chunked bodies
+        return new RestTemplate(new BufferingClientHttpRequestFactory(rf));
+    }
+
+    // one thread per @Scheduled task (ML probe, DB probe, partition upkeep).
+    // With virtual threads on, Boot's default scheduler runs every fixed-delay
+    // task on its single scheduler thread, so a slow DB probe would hold back
+    // the ML probe until it went STALE.
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();  // no HttpClient dependency
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(3);
+        scheduler.setThreadNamePrefix("scheduling-");
+        return scheduler;
     }
 }
@@ -0,0 +1,74 @@
+package com.maatram.deserveiq.config;
+
+import com.maatram.deserveiq.service.PredictionAdmission;
+import com.maatram.deserveiq.service.PredictionAdmission.Lane;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Sheds load on /api/predict/** before a request ties up a worker thread
+ * for the whole ML round trip. Over-limit callers get an immediate 429
+ * with Retry-After instead of a timeout.
+ */
+@Component
+public class PredictionAdmissionFilter extends OncePerRequestFilter {
+
+    private final PredictionAdmission admission;
+    private final String retryAfterSeconds;
+
+    public PredictionAdmissionFilter(PredictionAdmission admission,
+                                     @Value("${predict.admission.retry-after-seconds:1}") int retryAfterSeconds) {
+        this.admission = admission;
+        this.retryAfterSeconds = String.valueOf(Math.max(1, retryAfterSeconds));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getServletPath().startsWith("/api/predict/");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Lane lane = request.getServletPath().startsWith("/api/predict/batch")
+                ? Lane.BATCH
+                : Lane.INTERACTIVE;
+        String user = currentUser(request);
+
+        if (!admission.tryAcquire(user, lane)) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Too many prediction requests, retry later\"}");
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            admission.release(user, lane);
+        }
+    }
+
+    private String currentUser(HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getName() != null) return auth.getName();
+        return request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,45 @@
+package com.maatram.deserveiq.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aot.AotDetector;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs how long the instance took to become ready, measured from JVM start
+ * so class loading (CDS) is included, not just the Spring context refresh.
+ * The JVM-start figure is published as application.ready.jvm.time; Boot's
+ * own application.ready.time covers only the context ("context" below).
+ */
+@Component
+public class StartupTimeLogger {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimeLogger.class);
+
+    private final MeterRegistry registry;
+
+    public StartupTimeLogger(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        long jvmUptimeMs = ManagementFactory.getRuntimeMXBean().getUptime();
+        long contextMs = event.getTimeTaken() == null ? -1 : event.getTimeTaken().toMillis();
+        boolean aot = AotDetector.useGeneratedArtifacts();
+
+        TimeGauge.builder("application.ready.jvm.time", () -> jvmUptimeMs, TimeUnit.MILLISECONDS)
+                .description("Time from JVM start until the application was ready")
+                .register(registry);
+
+        log.info("Startup: ready {} ms after JVM start (context {} ms, aot={})",
+                jvmUptimeMs, contextMs, aot);
+    }
+}
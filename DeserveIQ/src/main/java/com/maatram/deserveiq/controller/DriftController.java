@@ -0,0 +1,37 @@
+package com.maatram.deserveiq.controller;
+
+import org.springframework.web.bind.annotation.*;
+
+import com.maatram.deserveiq.dto.DriftBaseline;
+import com.maatram.deserveiq.service.FeatureDriftMonitor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/drift")
+public class DriftController {
+
+    private final FeatureDriftMonitor drift;
+
+    public DriftController(FeatureDriftMonitor drift) {
+        this.drift = drift;
+    }
+
+    /** Live feature statistics and, once a baseline exists, PSI drift scores. */
+    @GetMapping
+    public Map<String, Object> report() {
+        return drift.report();
+    }
+
+    /** Freeze current live statistics as the new baseline; live window restarts. */
+    @PostMapping("/baseline")
+    public Map<String, Object> captureBaseline() {
+        DriftBaseline b = drift.captureBaseline();
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("captured_at", b.getCaptured_at());
+        out.put("numeric_features", b.getNumeric().keySet());
+        out.put("categorical_features", b.getCategorical().keySet());
+        return out;
+    }
+}
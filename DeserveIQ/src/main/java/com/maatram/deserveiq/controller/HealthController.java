@@ -4,11 +4,34 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.maatram.deserveiq.dto.DependencyHealth;
+import com.maatram.deserveiq.service.HealthProbeService;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @RestController
 public class HealthController {
 
+    private final HealthProbeService probes;
+
+    public HealthController(HealthProbeService probes) {
+        this.probes = probes;
+    }
+
+    /**
+     * Always 200 while the app is serving (liveness); "status" is
+     * "degraded" when a dependency's last cached probe was not UP.
+     * Dependency checks run in the background, so this never waits on them.
+     */
     @GetMapping("/health")
     public ResponseEntity<?> health() {
-        return ResponseEntity.ok().body("{\"status\":\"healthy\"}");
+        Map<String, DependencyHealth> deps = probes.snapshot();
+        boolean allUp = deps.values().stream().allMatch(d -> "UP".equals(d.getStatus()));
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", allUp ? "healthy" : "degraded");
+        body.put("dependencies", deps);
+        return ResponseEntity.ok().body(body);
     }
 }
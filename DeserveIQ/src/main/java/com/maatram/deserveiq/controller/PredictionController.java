@@ -7,8 +7,8 @@ import org.springframework.web.server.ResponseStatusException;
 
 import com.maatram.deserveiq.dto.PredictionResponse;
 import com.maatram.deserveiq.entity.Student;
-import com.maatram.deserveiq.repository.StudentRepository;
 import com.maatram.deserveiq.service.MlService;
+import com.maatram.deserveiq.service.StudentService;
 import com.maatram.deserveiq.util.CsvUtil;
 
 import java.io.*;
@@ -19,11 +19,11 @@ import java.util.*;
 public class PredictionController {
 
     private final MlService ml;
-    private final StudentRepository repo;
+    private final StudentService students;
 
-    public PredictionController(MlService ml, StudentRepository repo) {
+    public PredictionController(MlService ml, StudentService students) {
         this.ml = ml;
-        this.repo = repo;
+        this.students = students;
     }
 
     /** SINGLE PREDICTION **/
@@ -45,12 +45,15 @@ public class PredictionController {
             List<Map<String, String>> rows = CsvUtil.readCsvAsMaps(file.getInputStream());
             List<Map<String, Object>> outputRows = new ArrayList<>();
 
+            List<Map<String, Object>> payloads = new ArrayList<>();
             for (Map<String, String> r : rows) {
-
                 Map<String, Object> payload = new LinkedHashMap<>();
                 r.forEach((k, v) -> payload.put(k, tryParse(v)));
+                payloads.add(payload);
+            }
 
-                PredictionResponse pr = ml.predictSingle(payload);
+            List<Student> batch = new ArrayList<>();
+            for (Map<String, Object> payload : payloads) {
 
                 Student s = Student.builder()
                         .name(getStr(payload, "name"))
@@ -105,7 +108,18 @@ public class PredictionController {
 
                         .build();
 
-                repo.save(s);
+                batch.add(s);
+            }
+
+            // whole upload scored in ML batch calls, not one request per row;
+            // students are saved only after every row scored, so an ML
+            // failure saves nothing and no transaction spans the ML calls
+            List<PredictionResponse> predictions = ml.predictMany(payloads, () -> students.saveAll(batch));
+
+            for (int i = 0; i < payloads.size(); i++) {
+
+                Map<String, Object> payload = payloads.get(i);
+                PredictionResponse pr = predictions.get(i);
 
                 Map<String, Object> out = new LinkedHashMap<>(payload);
                 out.put("dropout_probability", pr.getDropout_probability());
@@ -0,0 +1,35 @@
+package com.maatram.deserveiq.controller;
+
+import org.springframework.web.bind.annotation.*;
+
+import com.maatram.deserveiq.dto.PredictionHistoryEntry;
+import com.maatram.deserveiq.repository.PredictionHistoryRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/history")
+public class PredictionHistoryController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final PredictionHistoryRepository repo;
+
+    public PredictionHistoryController(PredictionHistoryRepository repo) {
+        this.repo = repo;
+    }
+
+    /** Newest predictions within the last {@code hours}, optionally for one student. */
+    @GetMapping
+    public List<PredictionHistoryEntry> recent(@RequestParam(name = "student_id", required = false) Long studentId,
+                                               @RequestParam(defaultValue = "24") int hours,
+                                               @RequestParam(defaultValue = "100") int limit) {
+        Instant since = Instant.now().minus(Duration.ofHours(Math.max(1, hours)));
+        int n = Math.max(1, Math.min(MAX_LIMIT, limit));
+        return studentId == null
+                ? repo.findRecent(since, n)
+                : repo.findRecentByStudent(studentId, since, n);
+    }
+}
@@ -1,21 +1,50 @@
 package com.maatram.deserveiq.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import com.maatram.deserveiq.entity.Student;
 import com.maatram.deserveiq.repository.StudentRepository;
+import com.maatram.deserveiq.service.StudentExportService;
+import com.maatram.deserveiq.service.StudentExportService.Format;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/students")
 public class StudentController {
     private final StudentRepository repo;
-    public StudentController(StudentRepository repo) { this.repo = repo; }
+    private final StudentExportService exporter;
+    public StudentController(StudentRepository repo, StudentExportService exporter) {
+        this.repo = repo;
+        this.exporter = exporter;
+    }
 
     @GetMapping
     public List<Student> all(){ return repo.findAll(); }
 
+    /** Every student with latest score, streamed as CSV (default) or NDJSON. */
+    @GetMapping("/export")
+    public void export(@RequestParam(defaultValue = "csv") String format, HttpServletResponse response) throws IOException {
+        Format f;
+        try { f = Format.valueOf(format.toUpperCase()); }
+        catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be csv or ndjson");
+        }
+
+        String filename = f == Format.CSV ? "students.csv" : "students.ndjson";
+        response.setContentType(f == Format.CSV ? "text/csv;charset=UTF-8" : "application/x-ndjson;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(filename).build().toString());
+
+        exporter.export(f, response.getOutputStream());
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Student> get(@PathVariable Long id){
         return repo.findById(id).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
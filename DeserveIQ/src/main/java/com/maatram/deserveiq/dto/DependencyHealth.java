@@ -0,0 +1,21 @@
+package com.maatram.deserveiq.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class DependencyHealth {
+    // UP, DOWN, STALE (no probe result recently) or UNKNOWN (not probed yet)
+    private String status;
+    private Instant checked_at;
+    private long latency_ms;
+
+    // rolling percentiles over the last probe-window probes
+    private long p50_ms;
+    private long p95_ms;
+    private long p99_ms;
+    private int samples;
+
+    // failure detail is logged, never returned: /health is public
+}
@@ -0,0 +1,36 @@
+package com.maatram.deserveiq.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** Frozen feature statistics that live traffic is compared against. */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class DriftBaseline {
+    private Instant captured_at;
+
+    @Builder.Default
+    private Map<String, Numeric> numeric = new LinkedHashMap<>();
+
+    @Builder.Default
+    private Map<String, Categorical> categorical = new LinkedHashMap<>();
+
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+    public static class Numeric {
+        private long count;
+        private long missing;
+        private double sum;
+        private double sum_sq;
+        private long zero;
+        private long[] buckets;
+    }
+
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+    public static class Categorical {
+        private long count;
+        private long missing;
+        private Map<String, Long> counts;
+    }
+}
@@ -0,0 +1,18 @@
+package com.maatram.deserveiq.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class PredictionHistoryEntry {
+    private Long id;
+    private Instant created_at;
+    private Long student_id;
+    private String model_version;
+    private double dropout_probability;
+    private double deservingness_score;
+    private String risk_tier;
+    private String explanation;
+    private int latency_ms;
+}
@@ -8,6 +8,9 @@ public class PredictionResponse {
     private double deservingness_score;
     private String risk_tier;
 
+    // ML artifact run that produced the score
+    private String model_version;
+
     // Explanation JSON/string returned from ML API (rule-based reasons + meta)
     private String explanation;
 }
@@ -0,0 +1,106 @@
+package com.maatram.deserveiq.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import com.maatram.deserveiq.dto.PredictionHistoryEntry;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain JDBC for the append-only prediction_history table: rows are only
+ * ever inserted in batches and read back by time range, so there is no
+ * entity state to manage.
+ */
+@Repository
+public class PredictionHistoryRepository {
+
+    private static final String INSERT =
+            "INSERT INTO prediction_history (created_at, student_id, model_version, dropout_probability, "
+            + "deservingness_score, risk_tier, explanation, latency_ms) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String COLUMNS =
+            "id, created_at, student_id, model_version, dropout_probability, deservingness_score, "
+            + "risk_tier, explanation, latency_ms FROM prediction_history ";
+
+    private static final String SELECT = "SELECT " + COLUMNS;
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final RowMapper<PredictionHistoryEntry> ROW = (rs, i) -> PredictionHistoryEntry.builder()
+            .id(rs.getLong("id"))
+            .created_at(rs.getTimestamp("created_at").toInstant())
+            .student_id(rs.getObject("student_id") == null ? null : rs.getLong("student_id"))
+            .model_version(rs.getString("model_version"))
+            .dropout_probability(rs.getDouble("dropout_probability"))
+            .deservingness_score(rs.getDouble("deservingness_score"))
+            .risk_tier(rs.getString("risk_tier"))
+            .explanation(rs.getString("explanation"))
+            .latency_ms(rs.getInt("latency_ms"))
+            .build();
+
+    private final JdbcTemplate jdbc;
+
+    public PredictionHistoryRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public void insertBatch(List<PredictionHistoryEntry> entries) {
+        jdbc.batchUpdate(INSERT, entries, entries.size(), (ps, e) -> {
+            ps.setTimestamp(1, Timestamp.from(e.getCreated_at()));
+            if (e.getStudent_id() == null) ps.setNull(2, Types.BIGINT);
+            else ps.setLong(2, e.getStudent_id());
+            ps.setString(3, e.getModel_version());
+            ps.setDouble(4, e.getDropout_probability());
+            ps.setDouble(5, e.getDeservingness_score());
+            ps.setString(6, e.getRisk_tier());
+            ps.setString(7, e.getExplanation());
+            ps.setInt(8, e.getLatency_ms());
+        });
+    }
+
+    /** Newest first; the created_at bound lets Postgres prune old partitions. */
+    public List<PredictionHistoryEntry> findRecent(Instant since, int limit) {
+        return jdbc.query(SELECT + "WHERE created_at >= ? ORDER BY created_at DESC LIMIT ?",
+                ROW, Timestamp.from(since), limit);
+    }
+
+    public List<PredictionHistoryEntry> findRecentByStudent(long studentId, Instant since, int limit) {
+        return jdbc.query(SELECT + "WHERE student_id = ? AND created_at >= ? ORDER BY created_at DESC LIMIT ?",
+                ROW, studentId, Timestamp.from(since), limit);
+    }
+
+    /** Latest entry per student for the given ids (served by the student_id index). */
+    public Map<Long, PredictionHistoryEntry> findLatestByStudents(Collection<Long> studentIds) {
+        Map<Long, PredictionHistoryEntry> out = new HashMap<>();
+        if (studentIds.isEmpty()) return out;
+
+        String in = String.join(",", Collections.nCopies(studentIds.size(), "?"));
+        jdbc.query("SELECT DISTINCT ON (student_id) " + COLUMNS
+                        + "WHERE student_id IN (" + in + ") ORDER BY student_id, created_at DESC",
+                rs -> {
+                    PredictionHistoryEntry e = ROW.mapRow(rs, 0);
+                    out.put(e.getStudent_id(), e);
+                },
+                studentIds.toArray());
+        return out;
+    }
+
+    /** Creates the monthly partition for {@code month} if it does not exist yet. */
+    public void ensureMonthlyPartition(YearMonth month) {
+        String table = "prediction_history_" + month.format(SUFFIX);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS " + table
+                + " PARTITION OF prediction_history FOR VALUES FROM ('" + month.atDay(1)
+                + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+    }
+}
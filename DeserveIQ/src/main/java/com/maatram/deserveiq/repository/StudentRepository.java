@@ -1,5 +1,22 @@
 package com.maatram.deserveiq.repository;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import com.maatram.deserveiq.entity.Student;
 
-public interface StudentRepository extends JpaRepository<Student, Long> { }
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.stream.Stream;
+
+public interface StudentRepository extends JpaRepository<Student, Long> {
+
+    /** Forward-only cursor over all students; must be consumed inside a transaction and closed. */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select s from Student s order by s.id")
+    Stream<Student> streamAll();
+}
@@ -0,0 +1,369 @@
+package com.maatram.deserveiq.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.maatram.deserveiq.dto.DriftBaseline;
+import com.maatram.deserveiq.util.LogHistogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Constant-memory running statistics over the features of every payload
+ * sent to the ML service, compared on demand against a frozen baseline.
+ *
+ * Recording is lock-free (LongAdder / DoubleAdder / atomic histogram
+ * buckets), so it adds no contention to the prediction path. Reads are
+ * not an atomic snapshot across fields, which is fine for monitoring.
+ *
+ * Drift per feature is the population stability index (PSI): for numeric
+ * features over the baseline's deciles, for flags over category shares.
+ * PSI below 0.1 is reported as stable, below 0.25 as moderate, otherwise
+ * significant.
+ */
+@Service
+public class FeatureDriftMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(FeatureDriftMonitor.class);
+
+    static final List<String> NUMERIC = List.of(
+            "cutoff", "marks_10", "marks_11", "marks_12", "attendance_rate",
+            "family_income", "family_members", "motivational_score",
+            "interest_lvl", "family_support", "communication_freq");
+
+    static final List<String> CATEGORICAL = List.of(
+            "orphan", "single_parent", "first_graduate", "girlchild",
+            "attitude", "family_income_tier");
+
+    private static final int MAX_CATEGORIES = 50;
+    private static final String OTHER = "__other__";
+    private static final double EPS = 1e-4;
+
+    private final Map<String, NumericStats> numeric = new LinkedHashMap<>();
+    private final Map<String, CategoryStats> categorical = new LinkedHashMap<>();
+
+    private final ObjectMapper mapper;
+    private final String baselineFile;
+    private final long minSamples;
+
+    private volatile DriftBaseline baseline;
+    private volatile Instant liveSince = Instant.now();
+
+    public FeatureDriftMonitor(ObjectMapper mapper,
+                               @Value("${drift.baseline-file:}") String baselineFile,
+                               @Value("${drift.min-samples:50}") long minSamples) {
+        this.mapper = mapper;
+        this.baselineFile = baselineFile;
+        this.minSamples = Math.max(1, minSamples);
+
+        for (String f : NUMERIC) numeric.put(f, new NumericStats());
+        for (String f : CATEGORICAL) categorical.put(f, new CategoryStats());
+
+        loadBaseline();
+    }
+
+    /** Called on the prediction path for every payload; never blocks. */
+    public void record(Map<String, Object> payload) {
+        for (Map.Entry<String, NumericStats> e : numeric.entrySet()) {
+            e.getValue().add(toDouble(payload.get(e.getKey())));
+        }
+        for (Map.Entry<String, CategoryStats> e : categorical.entrySet()) {
+            Object v = payload.get(e.getKey());
+            if (v == null && e.getKey().equals("girlchild")) v = payload.get("girl_child");
+            e.getValue().add(v);
+        }
+    }
+
+    /** Freezes the current live statistics as the baseline and starts a new live window. */
+    public DriftBaseline captureBaseline() {
+        DriftBaseline b = DriftBaseline.builder().captured_at(Instant.now()).build();
+        numeric.forEach((f, s) -> b.getNumeric().put(f, s.snapshot()));
+        categorical.forEach((f, s) -> b.getCategorical().put(f, s.snapshot()));
+
+        this.baseline = b;
+        numeric.values().forEach(NumericStats::reset);
+        categorical.values().forEach(CategoryStats::reset);
+        this.liveSince = b.getCaptured_at();
+
+        saveBaseline(b);
+        return b;
+    }
+
+    public Map<String, Object> report() {
+        DriftBaseline b = baseline;
+
+        Map<String, Object> features = new LinkedHashMap<>();
+        List<String> drifted = new ArrayList<>();
+        double maxPsi = 0.0;
+
+        for (String f : NUMERIC) {
+            DriftBaseline.Numeric live = numeric.get(f).snapshot();
+            DriftBaseline.Numeric base = b == null ? null : b.getNumeric().get(f);
+
+            Map<String, Object> row = describe(live);
+            if (base != null) {
+                row.put("baseline", describe(base));
+                if (live.getCount() >= minSamples && base.getCount() >= minSamples) {
+                    double psi = numericPsi(base, live);
+                    double baseStd = std(base);
+                    row.put("psi", round(psi));
+                    row.put("mean_shift_std", baseStd > 0 ? round((mean(live) - mean(base)) / baseStd) : null);
+                    row.put("drift", level(psi));
+                    maxPsi = Math.max(maxPsi, psi);
+                    if (psi >= 0.1) drifted.add(f);
+                } else {
+                    row.put("drift", "insufficient_data");
+                }
+            }
+            features.put(f, row);
+        }
+
+        for (String f : CATEGORICAL) {
+            DriftBaseline.Categorical live = categorical.get(f).snapshot();
+            DriftBaseline.Categorical base = b == null ? null : b.getCategorical().get(f);
+
+            Map<String, Object> row = describe(live);
+            if (base != null) {
+                row.put("baseline", describe(base));
+                if (live.getCount() >= minSamples && base.getCount() >= minSamples) {
+                    double psi = categoricalPsi(base, live);
+                    row.put("psi", round(psi));
+                    row.put("drift", level(psi));
+                    maxPsi = Math.max(maxPsi, psi);
+                    if (psi >= 0.1) drifted.add(f);
+                } else {
+                    row.put("drift", "insufficient_data");
+                }
+            }
+            features.put(f, row);
+        }
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("live_since", liveSince);
+        out.put("baseline_captured_at", b == null ? null : b.getCaptured_at());
+        out.put("max_psi", b == null ? null : round(maxPsi));
+        out.put("drifted_features", drifted);
+        out.put("features", features);
+        return out;
+    }
+
+    // ---------------------------
+    // Drift scores
+    // ---------------------------
+    private static double numericPsi(DriftBaseline.Numeric base, DriftBaseline.Numeric live) {
+        // bin edges at the baseline's deciles
+        TreeSet<Double> edges = new TreeSet<>();
+        for (int d = 1; d <= 9; d++) {
+            edges.add(LogHistogram.quantile(base.getZero(), base.getBuckets(), d / 10.0));
+        }
+
+        double psi = 0.0;
+        double prevB = 0.0, prevL = 0.0;
+        for (double edge : edges) {
+            double cb = LogHistogram.cdf(base.getZero(), base.getBuckets(), edge);
+            double cl = LogHistogram.cdf(live.getZero(), live.getBuckets(), edge);
+            psi += psiTerm(cb - prevB, cl - prevL);
+            prevB = cb;
+            prevL = cl;
+        }
+        psi += psiTerm(1.0 - prevB, 1.0 - prevL);
+        return psi;
+    }
+
+    private static double categoricalPsi(DriftBaseline.Categorical base, DriftBaseline.Categorical live) {
+        Set<String> keys = new HashSet<>(base.getCounts().keySet());
+        keys.addAll(live.getCounts().keySet());
+
+        double psi = 0.0;
+        for (String k : keys) {
+            double pb = (double) base.getCounts().getOrDefault(k, 0L) / base.getCount();
+            double pl = (double) live.getCounts().getOrDefault(k, 0L) / live.getCount();
+            psi += psiTerm(pb, pl);
+        }
+        return psi;
+    }
+
+    private static double psiTerm(double expected, double actual) {
+        double e = Math.max(EPS, expected);
+        double a = Math.max(EPS, actual);
+        return (a - e) * Math.log(a / e);
+    }
+
+    private static String level(double psi) {
+        if (psi < 0.1) return "stable";
+        if (psi < 0.25) return "moderate";
+        return "significant";
+    }
+
+    // ---------------------------
+    // Summaries
+    // ---------------------------
+    private static Map<String, Object> describe(DriftBaseline.Numeric s) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        long n = s.getCount();
+        m.put("count", n);
+        m.put("missing_rate", round(rate(s.getMissing(), n + s.getMissing())));
+        if (n > 0) {
+            m.put("mean", round(mean(s)));
+            m.put("std", round(std(s)));
+            m.put("p50", round(LogHistogram.quantile(s.getZero(), s.getBuckets(), 0.50)));
+            m.put("p90", round(LogHistogram.quantile(s.getZero(), s.getBuckets(), 0.90)));
+            m.put("p99", round(LogHistogram.quantile(s.getZero(), s.getBuckets(), 0.99)));
+        }
+        return m;
+    }
+
+    private static Map<String, Object> describe(DriftBaseline.Categorical s) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("count", s.getCount());
+        m.put("missing_rate", round(rate(s.getMissing(), s.getCount() + s.getMissing())));
+        Map<String, Object> shares = new TreeMap<>();
+        s.getCounts().forEach((k, c) -> shares.put(k, round(rate(c, s.getCount()))));
+        m.put("frequencies", shares);
+        return m;
+    }
+
+    private static double mean(DriftBaseline.Numeric s) {
+        return s.getCount() == 0 ? 0.0 : s.getSum() / s.getCount();
+    }
+
+    private static double std(DriftBaseline.Numeric s) {
+        if (s.getCount() < 2) return 0.0;
+        double m = mean(s);
+        double var = (s.getSum_sq() - s.getCount() * m * m) / (s.getCount() - 1);
+        return Math.sqrt(Math.max(0.0, var));
+    }
+
+    private static double rate(long part, long whole) {
+        return whole == 0 ? 0.0 : (double) part / whole;
+    }
+
+    private static double round(double v) {
+        return Double.isNaN(v) ? v : Math.round(v * 10000.0) / 10000.0;
+    }
+
+    private static Double toDouble(Object v) {
+        if (v instanceof Number n) return n.doubleValue();
+        if (v == null) return null;
+        String s = v.toString().trim();
+        if (s.isEmpty()) return null;
+        try {
+            double d = Double.parseDouble(s);
+            return Double.isFinite(d) ? d : null;
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    // ---------------------------
+    // Baseline persistence (optional)
+    // ---------------------------
+    private void loadBaseline() {
+        if (baselineFile.isBlank()) return;
+        File f = new File(baselineFile);
+        if (!f.exists()) return;
+        try {
+            this.baseline = mapper.readValue(f, DriftBaseline.class);
+        } catch (IOException ex) {
+            log.warn("Could not read drift baseline {}: {}", f, ex.getMessage());
+        }
+    }
+
+    private void saveBaseline(DriftBaseline b) {
+        if (baselineFile.isBlank()) return;
+        try {
+            mapper.writeValue(new File(baselineFile), b);
+        } catch (IOException ex) {
+            log.warn("Could not write drift baseline {}: {}", baselineFile, ex.getMessage());
+        }
+    }
+
+    // ---------------------------
+    // Per-feature accumulators
+    // ---------------------------
+    private static final class NumericStats {
+        final LongAdder count = new LongAdder();
+        final LongAdder missing = new LongAdder();
+        final DoubleAdder sum = new DoubleAdder();
+        final DoubleAdder sumSq = new DoubleAdder();
+        final LogHistogram hist = new LogHistogram();
+
+        void add(Double v) {
+            if (v == null) {
+                missing.increment();
+                return;
+            }
+            count.increment();
+            sum.add(v);
+            sumSq.add(v * v);
+            hist.add(v);
+        }
+
+        DriftBaseline.Numeric snapshot() {
+            return DriftBaseline.Numeric.builder()
+                    .count(count.sum())
+                    .missing(missing.sum())
+                    .sum(sum.sum())
+                    .sum_sq(sumSq.sum())
+                    .zero(hist.zeroCount())
+                    .buckets(hist.copyBuckets())
+                    .build();
+        }
+
+        void reset() {
+            count.reset();
+            missing.reset();
+            sum.reset();
+            sumSq.reset();
+            hist.reset();
+        }
+    }
+
+    private static final class CategoryStats {
+        final LongAdder count = new LongAdder();
+        final LongAdder missing = new LongAdder();
+        final ConcurrentHashMap<String, LongAdder> counts = new ConcurrentHashMap<>();
+
+        void add(Object v) {
+            String s = v == null ? "" : v.toString().trim().toLowerCase(Locale.ROOT);
+            if (s.isEmpty()) {
+                missing.increment();
+                return;
+            }
+            count.increment();
+
+            LongAdder c = counts.get(s);
+            if (c == null) {
+                // bound memory: unseen values past the cap are pooled
+                String key = counts.size() < MAX_CATEGORIES ? s : OTHER;
+                c = counts.computeIfAbsent(key, k -> new LongAdder());
+            }
+            c.increment();
+        }
+
+        DriftBaseline.Categorical snapshot() {
+            Map<String, Long> out = new HashMap<>();
+            counts.forEach((k, c) -> out.put(k, c.sum()));
+            return DriftBaseline.Categorical.builder()
+                    .count(count.sum())
+                    .missing(missing.sum())
+                    .counts(out)
+                    .build();
+        }
+
+        void reset() {
+            count.reset();
+            missing.reset();
+            counts.clear();
+        }
+    }
+}
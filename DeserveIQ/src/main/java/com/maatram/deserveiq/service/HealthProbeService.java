@@ -0,0 +1,177 @@
+package com.maatram.deserveiq.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import com.maatram.deserveiq.dto.DependencyHealth;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Probes the ML service and the database in the background and caches the
+ * outcome, so /health answers from memory no matter how often it is polled.
+ * Each dependency is probed by its own fixed-delay task with a short
+ * timeout, so at most one probe per dependency is ever in flight.
+ * Failure details go to the log only; /health is public and shows status
+ * and latency.
+ */
+@Service
+public class HealthProbeService {
+
+    public static final String ML = "ml";
+    public static final String DATABASE = "database";
+
+    private static final Logger log = LoggerFactory.getLogger(HealthProbeService.class);
+
+    private final RestTemplate probeRest;
+    private final JdbcTemplate jdbc;
+    private final String mlHealthUrl;
+    private final int timeoutMs;
+    private final long staleAfterMs;
+
+    private final Probe ml;
+    private final Probe db;
+
+    public HealthProbeService(JdbcTemplate jdbc,
+                              @Value("${ml.api.url}") String baseUrl,
+                              @Value("${health.probe.timeout-ms:2000}") int timeoutMs,
+                              @Value("${health.probe.interval-ms:15000}") long intervalMs,
+                              @Value("${health.probe.window:100}") int window) {
+
+        if (baseUrl.endsWith("/"))
+            baseUrl = baseUrl.substring(0, baseUrl.length() - 1);
+
+        this.mlHealthUrl = baseUrl + "/health";
+        this.jdbc = jdbc;
+        this.timeoutMs = Math.max(100, timeoutMs);
+        this.staleAfterMs = 3 * Math.max(1000, intervalMs) + this.timeoutMs;
+
+        // own client, built like AppConfig's: a probe must give up after
+        // timeout-ms, far sooner than the shared client's ML read timeout
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(this.timeoutMs))
+                .build();
+        JdkClientHttpRequestFactory rf = new JdkClientHttpRequestFactory(client);
+        rf.setReadTimeout(Duration.ofMillis(this.timeoutMs));
+        this.probeRest = new RestTemplate(rf);
+
+        this.ml = new Probe(ML, Math.max(1, window));
+        this.db = new Probe(DATABASE, Math.max(1, window));
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${health.probe.interval-ms:15000}")
+    public void probeMl() {
+        ml.run(() -> {
+            ResponseEntity<String> resp = probeRest.getForEntity(mlHealthUrl, String.class);
+            if (!resp.getStatusCode().is2xxSuccessful()) {
+                throw new IllegalStateException("ML /health returned " + resp.getStatusCode());
+            }
+        });
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${health.probe.interval-ms:15000}")
+    public void probeDatabase() {
+        db.run(() -> jdbc.execute((ConnectionCallback<Void>) c -> {
+            if (!c.isValid(Math.max(1, timeoutMs / 1000))) {
+                throw new IllegalStateException("Database connection is not valid");
+            }
+            return null;
+        }));
+    }
+
+    /** Cached results; never blocks on a dependency. */
+    public Map<String, DependencyHealth> snapshot() {
+        Map<String, DependencyHealth> out = new LinkedHashMap<>();
+        out.put(ML, withStaleness(ml.last.get()));
+        out.put(DATABASE, withStaleness(db.last.get()));
+        return out;
+    }
+
+    private DependencyHealth withStaleness(DependencyHealth h) {
+        if (h.getChecked_at() == null) return h;
+        if (Duration.between(h.getChecked_at(), Instant.now()).toMillis() <= staleAfterMs) return h;
+        return DependencyHealth.builder()
+                .status("STALE")
+                .checked_at(h.getChecked_at())
+                .latency_ms(h.getLatency_ms())
+                .p50_ms(h.getP50_ms())
+                .p95_ms(h.getP95_ms())
+                .p99_ms(h.getP99_ms())
+                .samples(h.getSamples())
+                .build();
+    }
+
+    /** One dependency: ring buffer of recent latencies plus the last published result. */
+    private static final class Probe {
+        private final String name;
+        private final long[] window;
+        private int next;
+        private int count;
+        private String lastError;
+
+        final AtomicReference<DependencyHealth> last = new AtomicReference<>(
+                DependencyHealth.builder().status("UNKNOWN").build());
+
+        Probe(String name, int size) {
+            this.name = name;
+            this.window = new long[size];
+        }
+
+        // called only from this probe's scheduled task, so the ring needs no locking
+        void run(Runnable check) {
+            long start = System.nanoTime();
+            String error = null;
+            try {
+                check.run();
+            } catch (RuntimeException ex) {
+                error = ex.getMessage() == null ? ex.getClass().getSimpleName() : ex.getMessage();
+            }
+            long latencyMs = (System.nanoTime() - start) / 1_000_000;
+
+            // log when the failure starts or changes, not on every interval
+            if (error != null && !error.equals(lastError)) {
+                log.warn("Health probe '{}' failed: {}", name, error);
+            } else if (error == null && lastError != null) {
+                log.info("Health probe '{}' recovered", name);
+            }
+            lastError = error;
+
+            window[next] = latencyMs;
+            next = (next + 1) % window.length;
+            if (count < window.length) count++;
+
+            long[] sorted = Arrays.copyOf(window, count);
+            Arrays.sort(sorted);
+
+            last.set(DependencyHealth.builder()
+                    .status(error == null ? "UP" : "DOWN")
+                    .checked_at(Instant.now())
+                    .latency_ms(latencyMs)
+                    .p50_ms(percentile(sorted, 0.50))
+                    .p95_ms(percentile(sorted, 0.95))
+                    .p99_ms(percentile(sorted, 0.99))
+                    .samples(count)
+                    .build());
+        }
+
+        private static long percentile(long[] sorted, double q) {
+            int idx = (int) Math.ceil(q * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, idx))];
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.maatram.deserveiq.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent single-row predictions into one call to the ML
+ * batch endpoint. A batch is flushed when it reaches {@code maxBatch} rows
+ * or when the first row has waited {@code maxWaitMs}, whichever comes first.
+ * Results are handed back to each caller by position; a row the ML service
+ * reports as failed fails only its own caller.
+ *
+ * Callers are usually virtual threads, so the pending list is guarded by a
+ * ReentrantLock rather than a monitor, and timer-triggered batches are sent
+ * from a fresh virtual thread each.
+ */
+public class MlBatcher {
+
+    private final Function<List<Map<String, Object>>, List<Map<String, Object>>> sender;
+    private final int maxBatch;
+    private final long maxWaitMs;
+
+    private final ScheduledExecutorService timer;
+    private final ExecutorService flusher;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private List<Pending> pending = new ArrayList<>();
+    private ScheduledFuture<?> flushTask;
+
+    public MlBatcher(Function<List<Map<String, Object>>, List<Map<String, Object>>> sender,
+                     int maxBatch, long maxWaitMs) {
+        this.sender = sender;
+        this.maxBatch = Math.max(1, maxBatch);
+        this.maxWaitMs = Math.max(0, maxWaitMs);
+        this.timer = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("ml-batch-timer").daemon().factory());
+        this.flusher = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("ml-batch-flush-", 0).factory());
+    }
+
+    public CompletableFuture<Map<String, Object>> submit(Map<String, Object> payload) {
+        Pending p = new Pending(payload);
+        List<Pending> ready = null;
+
+        lock.lock();
+        try {
+            pending.add(p);
+            if (pending.size() >= maxBatch) {
+                ready = drain();
+            } else if (pending.size() == 1) {
+                flushTask = timer.schedule(this::flushDue, maxWaitMs, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // the caller that filled the batch is about to block anyway, so it sends it
+        if (ready != null) send(ready);
+        return p.future;
+    }
+
+    public void shutdown() {
+        List<Pending> rest;
+        lock.lock();
+        try {
+            rest = drain();
+        } finally {
+            lock.unlock();
+        }
+        if (!rest.isEmpty()) send(rest);
+        timer.shutdownNow();
+        flusher.shutdown();
+    }
+
+    private void flushDue() {
+        List<Pending> ready;
+        lock.lock();
+        try {
+            ready = drain();
+        } finally {
+            lock.unlock();
+        }
+        if (!ready.isEmpty()) flusher.execute(() -> send(ready));
+    }
+
+    // must hold lock
+    private List<Pending> drain() {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+        List<Pending> out = pending;
+        pending = new ArrayList<>();
+        return out;
+    }
+
+    private void send(List<Pending> batch) {
+        List<Map<String, Object>> rows = new ArrayList<>(batch.size());
+        for (Pending p : batch) rows.add(p.payload);
+
+        List<Map<String, Object>> results;
+        try {
+            results = sender.apply(rows);
+        } catch (RuntimeException ex) {
+            batch.forEach(p -> p.future.completeExceptionally(ex));
+            return;
+        }
+
+        if (results == null || results.size() != batch.size()) {
+            RuntimeException ex = new RuntimeException("ML batch API returned "
+                    + (results == null ? 0 : results.size()) + " results for " + batch.size() + " rows");
+            batch.forEach(p -> p.future.completeExceptionally(ex));
+            return;
+        }
+
+        // a row the ML service could not score fails only its own caller
+        for (int i = 0; i < batch.size(); i++) {
+            Map<String, Object> result = results.get(i);
+            String error = rowError(result);
+            if (error == null) {
+                batch.get(i).future.complete(result);
+            } else {
+                batch.get(i).future.completeExceptionally(new RuntimeException(error));
+            }
+        }
+    }
+
+    /** @return a message if the ML service reported this row as failed, else null. */
+    static String rowError(Map<String, Object> result) {
+        if (result == null) return "ML batch API returned no result for row";
+        Object error = result.get("error");
+        if (error == null) return null;
+        Object detail = result.get("detail");
+        return "ML API error: " + error + (detail == null ? "" : " (" + detail + ")");
+    }
+
+    private static final class Pending {
+        final Map<String, Object> payload;
+        final CompletableFuture<Map<String, Object>> future = new CompletableFuture<>();
+
+        Pending(Map<String, Object> payload) {
+            this.payload = payload;
+        }
+    }
+}
@@ -8,19 +8,37 @@ import org.springframework.web.client.RestClientException;
 
 import com.maatram.deserveiq.dto.PredictionResponse;
 
+import jakarta.annotation.PreDestroy;
+
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 
 @Service
 public class MlService {
 
     private final RestTemplate rest;
     private final String mlPredictUrl;
+    private final String mlBatchUrl;
+    private final int maxBatch;
+    private final MlBatcher batcher;
+    private final PredictionHistoryWriter history;
+    private final FeatureDriftMonitor drift;
 
     public MlService(RestTemplate rest,
+                     PredictionHistoryWriter history,
+                     FeatureDriftMonitor drift,
                      @Value("${ml.api.url}") String baseUrl,
-                     @Value("${ml.api.predict-endpoint}") String endpoint) {
+                     @Value("${ml.api.predict-endpoint}") String endpoint,
+                     @Value("${ml.api.batch-endpoint:/predict/batch}") String batchEndpoint,
+                     @Value("${ml.batch.max-size:32}") int maxBatch,
+                     @Value("${ml.batch.max-wait-ms:5}") long maxWaitMs) {
 
         this.rest = rest;
+        this.history = history;
+        this.drift = drift;
 
         if (baseUrl.endsWith("/"))
             baseUrl = baseUrl.substring(0, baseUrl.length() - 1);
@@ -28,11 +46,105 @@ public class MlService {
         if (!endpoint.startsWith("/"))
             endpoint = "/" + endpoint;
 
+        if (!batchEndpoint.startsWith("/"))
+            batchEndpoint = "/" + batchEndpoint;
+
         this.mlPredictUrl = baseUrl + endpoint;
+        this.mlBatchUrl = baseUrl + batchEndpoint;
+        this.maxBatch = Math.max(1, maxBatch);
+
+        // max-size 1 disables coalescing: every call goes straight to /predict
+        this.batcher = this.maxBatch > 1
+                ? new MlBatcher(this::callBatch, this.maxBatch, maxWaitMs)
+                : null;
     }
 
-    @SuppressWarnings("unchecked")
+    @PreDestroy
+    public void shutdown() {
+        if (batcher != null) batcher.shutdown();
+    }
+
+    /** Single row; concurrent callers are coalesced into one ML batch call. */
     public PredictionResponse predictSingle(Map<String, Object> payload) {
+        drift.record(payload);
+        long start = System.nanoTime();
+        PredictionResponse pr;
+
+        if (batcher == null) {
+            pr = toResponse(callSingle(payload));
+        } else {
+            try {
+                pr = toResponse(batcher.submit(payload).join());
+            } catch (CompletionException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof RuntimeException re) throw re;
+                throw new RuntimeException("Failed to call ML service: " + cause.getMessage(), cause);
+            }
+        }
+
+        history.record(studentIdOf(payload), pr, elapsedMs(start));
+        return pr;
+    }
+
+    /**
+     * Many rows already in hand (CSV upload); sent in chunks of max-size.
+     * Once every row has scored, saveStudents (may be null) is called to
+     * persist the rows and return their ids, same order as payloads, for
+     * the history log; without it ids are taken from the payloads. Nothing
+     * is saved or logged if scoring fails, and no DB work overlaps ML calls.
+     */
+    public List<PredictionResponse> predictMany(List<Map<String, Object>> payloads,
+                                                Supplier<List<Long>> saveStudents) {
+        payloads.forEach(drift::record);
+
+        List<PredictionResponse> out = new ArrayList<>(payloads.size());
+        List<Long> latencies = new ArrayList<>(payloads.size());
+        for (int from = 0; from < payloads.size(); from += maxBatch) {
+            int to = Math.min(payloads.size(), from + maxBatch);
+            List<Map<String, Object>> chunk = payloads.subList(from, to);
+
+            long start = System.nanoTime();
+            List<Map<String, Object>> results = callBatch(chunk);
+            if (results.size() != chunk.size()) {
+                throw new RuntimeException("ML batch API returned " + results.size()
+                        + " results for " + chunk.size() + " rows");
+            }
+            long latencyMs = elapsedMs(start);
+
+            for (int i = 0; i < results.size(); i++) {
+                String error = MlBatcher.rowError(results.get(i));
+                if (error != null) {
+                    throw new RuntimeException("Row " + (from + i + 1) + ": " + error);
+                }
+                out.add(toResponse(results.get(i)));
+                latencies.add(latencyMs);
+            }
+        }
+
+        // logged only with committed ids, so history never points at
+        // students that were not saved
+        List<Long> studentIds = saveStudents == null ? null : saveStudents.get();
+        for (int i = 0; i < out.size(); i++) {
+            Long studentId = studentIds != null ? studentIds.get(i) : studentIdOf(payloads.get(i));
+            history.record(studentId, out.get(i), latencies.get(i));
+        }
+        return out;
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    // payloads for existing students carry their id as student_id (or id)
+    private static Long studentIdOf(Map<String, Object> payload) {
+        Object v = payload.getOrDefault("student_id", payload.get("id"));
+        if (v instanceof Number n) return n.longValue();
+        if (v instanceof String str && str.matches("^\\d+$")) return Long.valueOf(str);
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> callSingle(Map<String, Object> payload) {
         try {
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
@@ -47,43 +159,74 @@ public class MlService {
                 throw new RuntimeException("ML API returned non-OK: " + resp.getStatusCode());
             }
 
-            Map<String, Object> body = resp.getBody();
+            return resp.getBody();
 
-            Number pN = (Number) body.getOrDefault("dropout_probability", 0.0);
-            Number sN = (Number) body.getOrDefault("deservingness_score", 0.0);
-            String tier = String.valueOf(body.getOrDefault("risk_tier", "UNKNOWN"));
+        } catch (RestClientException ex) {
+            throw new RuntimeException("Failed to call ML service: " + ex.getMessage(), ex);
+        }
+    }
 
-            // -------------------------
-            // NORMALISE EXPLANATION
-            // -------------------------
-            Object expl = body.get("explanation");
-            String explanationJson;
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> callBatch(List<Map<String, Object>> payloads) {
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
 
-            if (expl == null) {
-                explanationJson = "{}";
-            }
-            else if (expl instanceof Map<?, ?> map) {
-                explanationJson = mapToJson(map);
-            }
-            else if (expl instanceof String s) {
-                explanationJson = fixStringMapToJson(s);
-            }
-            else {
-                explanationJson = "{}";
+            HttpEntity<List<Map<String, Object>>> req =
+                    new HttpEntity<>(payloads, headers);
+
+            ResponseEntity<Map> resp =
+                    rest.postForEntity(mlBatchUrl, req, Map.class);
+
+            if (resp.getStatusCode() != HttpStatus.OK || resp.getBody() == null) {
+                throw new RuntimeException("ML batch API returned non-OK: " + resp.getStatusCode());
             }
 
-            return PredictionResponse.builder()
-                    .dropout_probability(pN == null ? 0.0 : pN.doubleValue())
-                    .deservingness_score(sN == null ? 0.0 : sN.doubleValue())
-                    .risk_tier(tier)
-                    .explanation(explanationJson)
-                    .build();
+            Object results = resp.getBody().get("results");
+            if (!(results instanceof List<?>)) {
+                throw new RuntimeException("ML batch API returned no results");
+            }
+            return (List<Map<String, Object>>) results;
 
         } catch (RestClientException ex) {
             throw new RuntimeException("Failed to call ML service: " + ex.getMessage(), ex);
         }
     }
 
+    private PredictionResponse toResponse(Map<String, Object> body) {
+        Number pN = (Number) body.getOrDefault("dropout_probability", 0.0);
+        Number sN = (Number) body.getOrDefault("deservingness_score", 0.0);
+        String tier = String.valueOf(body.getOrDefault("risk_tier", "UNKNOWN"));
+        Object version = body.get("model_version");
+
+        // -------------------------
+        // NORMALISE EXPLANATION
+        // -------------------------
+        Object expl = body.get("explanation");
+        String explanationJson;
+
+        if (expl == null) {
+            explanationJson = "{}";
+        }
+        else if (expl instanceof Map<?, ?> map) {
+            explanationJson = mapToJson(map);
+        }
+        else if (expl instanceof String s) {
+            explanationJson = fixStringMapToJson(s);
+        }
+        else {
+            explanationJson = "{}";
+        }
+
+        return PredictionResponse.builder()
+                .dropout_probability(pN == null ? 0.0 : pN.doubleValue())
+                .deservingness_score(sN == null ? 0.0 : sN.doubleValue())
+                .risk_tier(tier)
+                .model_version(version == null ? null : version.toString())
+                .explanation(explanationJson)
+                .build();
+    }
+
     // ---------------------------
     // Convert Map → JSON manually
     // ---------------------------
@@ -0,0 +1,170 @@
+package com.maatram.deserveiq.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limits for the prediction endpoints.
+ *
+ * Every request needs a global slot; batch uploads may only hold
+ * max-batch-concurrent of them and never jump ahead of a waiting
+ * interactive request. Each user may have at most per-user requests
+ * running or queued. A request that cannot start waits in a short bounded
+ * queue and is rejected once the queue is full or its wait times out.
+ */
+@Service
+public class PredictionAdmission {
+
+    public enum Lane { INTERACTIVE, BATCH }
+
+    private final int maxConcurrent;
+    private final int maxBatchConcurrent;
+    private final int perUser;
+    private final int queueSize;
+    private final long queueTimeoutMs;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // one condition per lane so a release wakes a single waiter, not the whole queue
+    private final Condition interactiveTurn = lock.newCondition();
+    private final Condition batchTurn = lock.newCondition();
+
+    private int inFlight;
+    private int batchInFlight;
+    private int waitingInteractive;
+    private int waitingBatch;
+    private final Map<String, Integer> perUserActive = new HashMap<>();
+
+    private final Map<String, Counter> rejected = new HashMap<>();
+
+    public PredictionAdmission(MeterRegistry registry,
+                               @Value("${predict.admission.max-concurrent:64}") int maxConcurrent,
+                               @Value("${predict.admission.max-batch-concurrent:2}") int maxBatchConcurrent,
+                               @Value("${predict.admission.per-user:8}") int perUser,
+                               @Value("${predict.admission.queue-size:64}") int queueSize,
+                               @Value("${predict.admission.queue-timeout-ms:200}") long queueTimeoutMs) {
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.maxBatchConcurrent = Math.max(1, Math.min(maxBatchConcurrent, this.maxConcurrent));
+        this.perUser = Math.max(1, perUser);
+        this.queueSize = Math.max(0, queueSize);
+        this.queueTimeoutMs = Math.max(0, queueTimeoutMs);
+
+        Gauge.builder("predict.admission.in_flight", this, a -> a.inFlight).register(registry);
+        Gauge.builder("predict.admission.queue_depth", this, a -> a.waitingInteractive)
+                .tag("lane", "interactive").register(registry);
+        Gauge.builder("predict.admission.queue_depth", this, a -> a.waitingBatch)
+                .tag("lane", "batch").register(registry);
+
+        for (Lane lane : Lane.values()) {
+            for (String reason : new String[] { "per_user", "queue_full", "timeout" }) {
+                rejected.put(key(lane, reason), Counter.builder("predict.admission.rejected")
+                        .tag("lane", lane.name().toLowerCase())
+                        .tag("reason", reason)
+                        .register(registry));
+            }
+        }
+    }
+
+    /** @return true if the caller may proceed; it must then call {@link #release}. */
+    public boolean tryAcquire(String user, Lane lane) {
+        lock.lock();
+        try {
+            int active = perUserActive.getOrDefault(user, 0);
+            if (active >= perUser) {
+                return reject(lane, "per_user");
+            }
+
+            if (canRun(lane)) {
+                take(user, lane);
+                return true;
+            }
+
+            if (waitingInteractive + waitingBatch >= queueSize) {
+                return reject(lane, "queue_full");
+            }
+
+            perUserActive.merge(user, 1, Integer::sum);
+            if (lane == Lane.BATCH) waitingBatch++; else waitingInteractive++;
+            try {
+                long nanos = TimeUnit.MILLISECONDS.toNanos(queueTimeoutMs);
+                while (!canRun(lane)) {
+                    if (nanos <= 0) {
+                        return reject(lane, "timeout");
+                    }
+                    nanos = (lane == Lane.BATCH ? batchTurn : interactiveTurn).awaitNanos(nanos);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return reject(lane, "timeout");
+            } finally {
+                if (lane == Lane.BATCH) waitingBatch--; else waitingInteractive--;
+                decrementUser(user);
+                // a timed-out interactive waiter may have been what held batch back
+                wakeNext();
+            }
+
+            take(user, lane);
+            return true;
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(String user, Lane lane) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (lane == Lane.BATCH) batchInFlight--;
+            decrementUser(user);
+            wakeNext();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // must hold lock; interactive waiters always go first
+    private void wakeNext() {
+        if (waitingInteractive > 0) {
+            if (canRun(Lane.INTERACTIVE)) interactiveTurn.signal();
+        } else if (waitingBatch > 0 && canRun(Lane.BATCH)) {
+            batchTurn.signal();
+        }
+    }
+
+    // must hold lock
+    private boolean canRun(Lane lane) {
+        if (inFlight >= maxConcurrent) return false;
+        if (lane == Lane.INTERACTIVE) return true;
+        return batchInFlight < maxBatchConcurrent && waitingInteractive == 0;
+    }
+
+    // must hold lock
+    private void take(String user, Lane lane) {
+        inFlight++;
+        if (lane == Lane.BATCH) batchInFlight++;
+        perUserActive.merge(user, 1, Integer::sum);
+    }
+
+    // must hold lock
+    private void decrementUser(String user) {
+        perUserActive.computeIfPresent(user, (k, v) -> v > 1 ? v - 1 : null);
+    }
+
+    private boolean reject(Lane lane, String reason) {
+        rejected.get(key(lane, reason)).increment();
+        return false;
+    }
+
+    private static String key(Lane lane, String reason) {
+        return lane.name() + ":" + reason;
+    }
+}
@@ -0,0 +1,160 @@
+package com.maatram.deserveiq.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.maatram.deserveiq.dto.PredictionHistoryEntry;
+import com.maatram.deserveiq.dto.PredictionResponse;
+import com.maatram.deserveiq.repository.PredictionHistoryRepository;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind logger for prediction_history.
+ *
+ * {@link #record} only offers to a bounded in-memory buffer, so it never
+ * waits on the database. A single background thread flushes the buffer in
+ * batches of up to batch-size rows, at least every flush-interval-ms.
+ * Overflow policy: when the buffer is full the new entry is dropped and
+ * counted (prediction.history.dropped); a failed batch insert is logged,
+ * counted (prediction.history.failed) and not retried.
+ */
+@Service
+public class PredictionHistoryWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(PredictionHistoryWriter.class);
+
+    private final PredictionHistoryRepository repo;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalMs;
+
+    private final BlockingQueue<PredictionHistoryEntry> buffer;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failed;
+
+    public PredictionHistoryWriter(PredictionHistoryRepository repo,
+                                   MeterRegistry registry,
+                                   @Value("${prediction.history.enabled:true}") boolean enabled,
+                                   @Value("${prediction.history.buffer-size:10000}") int bufferSize,
+                                   @Value("${prediction.history.batch-size:500}") int batchSize,
+                                   @Value("${prediction.history.flush-interval-ms:1000}") long flushIntervalMs) {
+        this.repo = repo;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMs = Math.max(10, flushIntervalMs);
+        this.buffer = new ArrayBlockingQueue<>(Math.max(1, bufferSize));
+
+        this.written = registry.counter("prediction.history.written");
+        this.dropped = registry.counter("prediction.history.dropped");
+        this.failed = registry.counter("prediction.history.failed");
+        Gauge.builder("prediction.history.buffered", buffer, BlockingQueue::size).register(registry);
+
+        this.worker = new Thread(this::run, "prediction-history-writer");
+        this.worker.setDaemon(true);
+        if (enabled) this.worker.start();
+    }
+
+    /** Never blocks; drops the entry if the buffer is full. */
+    public void record(Long studentId, PredictionResponse pr, long latencyMs) {
+        if (!enabled) return;
+
+        PredictionHistoryEntry e = PredictionHistoryEntry.builder()
+                .created_at(Instant.now())
+                .student_id(studentId)
+                .model_version(pr.getModel_version())
+                .dropout_probability(pr.getDropout_probability())
+                .deservingness_score(pr.getDeservingness_score())
+                .risk_tier(pr.getRisk_tier())
+                .explanation(pr.getExplanation())
+                .latency_ms((int) Math.min(Integer.MAX_VALUE, latencyMs))
+                .build();
+
+        if (!buffer.offer(e)) dropped.increment();
+    }
+
+    /**
+     * Keeps the current and next two monthly partitions in place. Also runs
+     * on the writer thread before its first flush (see {@link #run}).
+     */
+    @Scheduled(initialDelayString = "${prediction.history.partition-check-interval-ms:21600000}",
+               fixedDelayString = "${prediction.history.partition-check-interval-ms:21600000}")
+    public void maintainPartitions() {
+        if (!enabled) return;
+        YearMonth now = YearMonth.now();
+        for (int i = 0; i <= 2; i++) {
+            try {
+                repo.ensureMonthlyPartition(now.plusMonths(i));
+            } catch (RuntimeException ex) {
+                log.warn("Could not create prediction_history partition for {}: {}", now.plusMonths(i), ex.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void run() {
+        // before the first insert: a row that lands in the default partition
+        // makes creating that month's partition fail from then on
+        maintainPartitions();
+
+        List<PredictionHistoryEntry> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                fill(batch);
+            } catch (InterruptedException ex) {
+                // shutting down: fall through and flush what is buffered
+            }
+            flush(batch);
+        }
+        buffer.drainTo(batch);
+        flush(batch);
+    }
+
+    // collects up to batchSize entries, waiting at most flushIntervalMs
+    private void fill(List<PredictionHistoryEntry> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (batch.size() < batchSize) {
+            long wait = deadline - System.nanoTime();
+            if (wait <= 0) return;
+            PredictionHistoryEntry e = buffer.poll(wait, TimeUnit.NANOSECONDS);
+            if (e == null) return;
+            batch.add(e);
+            buffer.drainTo(batch, batchSize - batch.size());
+        }
+    }
+
+    private void flush(List<PredictionHistoryEntry> batch) {
+        if (batch.isEmpty()) return;
+        try {
+            repo.insertBatch(batch);
+            written.increment(batch.size());
+        } catch (RuntimeException ex) {
+            failed.increment(batch.size());
+            log.warn("Dropped {} prediction_history rows: {}", batch.size(), ex.getMessage());
+        }
+        batch.clear();
+    }
+}
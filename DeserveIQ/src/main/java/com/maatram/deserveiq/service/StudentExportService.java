@@ -0,0 +1,148 @@
+package com.maatram.deserveiq.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.persistence.EntityManager;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.maatram.deserveiq.dto.PredictionHistoryEntry;
+import com.maatram.deserveiq.entity.Student;
+import com.maatram.deserveiq.repository.PredictionHistoryRepository;
+import com.maatram.deserveiq.repository.StudentRepository;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Streams every student, with their latest score from prediction_history,
+ * straight to an output stream. Students are read through a forward-only
+ * cursor and handled in chunks: each chunk's scores are fetched in one
+ * query, the rows are written, and the entities are detached. Heap use is
+ * bounded by the chunk size, not the table size.
+ */
+@Service
+public class StudentExportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final int CHUNK = 500;
+
+    private static final String[] SCORE_COLUMNS = {
+            "dropout_probability", "deservingness_score", "risk_tier", "model_version", "scored_at"
+    };
+
+    private final StudentRepository students;
+    private final PredictionHistoryRepository history;
+    private final EntityManager em;
+    private final ObjectMapper mapper;
+
+    public StudentExportService(StudentRepository students,
+                                PredictionHistoryRepository history,
+                                EntityManager em,
+                                ObjectMapper mapper) {
+        this.students = students;
+        this.history = history;
+        this.em = em;
+        this.mapper = mapper;
+    }
+
+    @Transactional(readOnly = true)
+    public void export(Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        RowSink sink = format == Format.CSV ? new CsvSink(writer) : new NdjsonSink(writer);
+
+        List<Student> chunk = new ArrayList<>(CHUNK);
+        try (Stream<Student> stream = students.streamAll()) {
+            Iterator<Student> it = stream.iterator();
+            while (it.hasNext()) {
+                chunk.add(it.next());
+                if (chunk.size() == CHUNK) writeChunk(chunk, sink);
+            }
+            writeChunk(chunk, sink);
+        }
+
+        writer.flush();
+    }
+
+    private void writeChunk(List<Student> chunk, RowSink sink) throws IOException {
+        if (chunk.isEmpty()) return;
+
+        List<Long> ids = new ArrayList<>(chunk.size());
+        for (Student s : chunk) ids.add(s.getId());
+        Map<Long, PredictionHistoryEntry> latest = history.findLatestByStudents(ids);
+
+        for (Student s : chunk) {
+            ObjectNode row = mapper.valueToTree(s);
+            PredictionHistoryEntry h = latest.get(s.getId());
+            if (h != null) {
+                row.put("dropout_probability", h.getDropout_probability());
+                row.put("deservingness_score", h.getDeservingness_score());
+                row.put("risk_tier", h.getRisk_tier());
+                row.put("model_version", h.getModel_version());
+                row.put("scored_at", h.getCreated_at().toString());
+            } else {
+                for (String c : SCORE_COLUMNS) row.putNull(c);
+            }
+            sink.write(row);
+            em.detach(s);
+        }
+        chunk.clear();
+    }
+
+    private interface RowSink {
+        void write(ObjectNode row) throws IOException;
+    }
+
+    private final class NdjsonSink implements RowSink {
+        private final Writer writer;
+        private final JsonGenerator gen;
+
+        NdjsonSink(Writer writer) throws IOException {
+            this.writer = writer;
+            this.gen = mapper.getFactory().createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // no " " between root values: each line is exactly one object
+            this.gen.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(ObjectNode row) throws IOException {
+            mapper.writeTree(gen, row);
+            gen.flush();
+            writer.write('\n');
+        }
+    }
+
+    private static final class CsvSink implements RowSink {
+        private final Writer writer;
+        private CSVPrinter printer;
+        private List<String> headers;
+
+        CsvSink(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void write(ObjectNode row) throws IOException {
+            if (printer == null) {
+                headers = new ArrayList<>();
+                row.fieldNames().forEachRemaining(headers::add);
+                printer = new CSVPrinter(writer, CSVFormat.DEFAULT.builder()
+                        .setHeader(headers.toArray(new String[0]))
+                        .build());
+            }
+            List<Object> values = new ArrayList<>(headers.size());
+            for (String h : headers) {
+                var v = row.get(h);
+                values.add(v == null || v.isNull() ? "" : v.asText());
+            }
+            printer.printRecord(values);
+        }
+    }
+}
@@ -1,12 +1,25 @@
 package com.maatram.deserveiq.service;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
 import com.maatram.deserveiq.entity.Student;
 import com.maatram.deserveiq.repository.StudentRepository;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Service
 public class StudentService {
     private final StudentRepository repo;
     public StudentService(StudentRepository repo){ this.repo = repo; }
     public Student save(Student s){ return repo.save(s); }
+
+    /** Saves all students in one short transaction; ids in the same order. */
+    @Transactional
+    public List<Long> saveAll(List<Student> students) {
+        List<Long> ids = new ArrayList<>(students.size());
+        for (Student s : repo.saveAll(students)) ids.add(s.getId());
+        return ids;
+    }
 }
@@ -0,0 +1,99 @@
+package com.maatram.deserveiq.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size, lock-free quantile sketch for non-negative values.
+ *
+ * Values are counted in logarithmic buckets growing by GAMMA (4%), so any
+ * quantile is returned within about 2% relative error. Values at or below
+ * MIN (including 0 and negatives) share a zero bucket; values above MAX are
+ * clamped into the last bucket. Memory is constant (~700 counters).
+ */
+public class LogHistogram {
+
+    public static final double GAMMA = 1.04;
+    public static final double MIN = 1e-3;
+    public static final double MAX = 1e9;
+
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    private static final int MIN_INDEX = rawIndex(MIN);
+    public static final int BUCKETS = rawIndex(MAX) - MIN_INDEX + 1;
+
+    private final LongAdder zero = new LongAdder();
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    public void add(double v) {
+        if (v <= MIN || Double.isNaN(v)) {
+            zero.increment();
+        } else {
+            buckets.incrementAndGet(bucketOf(v));
+        }
+    }
+
+    public long zeroCount() {
+        return zero.sum();
+    }
+
+    /** Point-in-time copy of the bucket counts. */
+    public long[] copyBuckets() {
+        long[] out = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) out[i] = buckets.get(i);
+        return out;
+    }
+
+    public void reset() {
+        zero.reset();
+        for (int i = 0; i < BUCKETS; i++) buckets.set(i, 0);
+    }
+
+    // ---------------------------
+    // Reads over copied counts
+    // ---------------------------
+
+    /** Approximate q-quantile (0..1) of the counted values, or NaN when empty. */
+    public static double quantile(long zero, long[] buckets, double q) {
+        long total = zero;
+        for (long c : buckets) total += c;
+        if (total == 0) return Double.NaN;
+
+        long rank = (long) Math.floor(Math.max(0, Math.min(1, q)) * (total - 1));
+        if (rank < zero) return 0.0;
+
+        long seen = zero;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen > rank) return representative(i);
+        }
+        return representative(buckets.length - 1);
+    }
+
+    /** Approximate fraction of counted values that are <= x. */
+    public static double cdf(long zero, long[] buckets, double x) {
+        long total = zero;
+        for (long c : buckets) total += c;
+        if (total == 0) return Double.NaN;
+        if (x < 0) return 0.0;
+
+        long below = zero;
+        if (x > MIN) {
+            int last = Math.min(buckets.length - 1, bucketOf(x));
+            for (int i = 0; i <= last; i++) below += buckets[i];
+        }
+        return (double) below / total;
+    }
+
+    private static int bucketOf(double v) {
+        return Math.min(BUCKETS - 1, rawIndex(v) - MIN_INDEX);
+    }
+
+    private static int rawIndex(double v) {
+        return (int) Math.ceil(Math.log(v) / LOG_GAMMA);
+    }
+
+    // midpoint (in relative terms) of bucket i, which covers (GAMMA^(k-1), GAMMA^k]
+    private static double representative(int i) {
+        return 2 * Math.pow(GAMMA, i + MIN_INDEX) / (GAMMA + 1);
+    }
+}
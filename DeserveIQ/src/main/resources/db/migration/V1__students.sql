@@ -0,0 +1,50 @@
+-- Baseline: the students table as previously created by ddl-auto=update.
+-- Existing databases are baselined at V1 (spring.flyway.baseline-on-migrate),
+-- so this only runs against an empty schema.
+
+CREATE TABLE IF NOT EXISTS students (
+    id                       BIGSERIAL PRIMARY KEY,
+    name                     VARCHAR(255),
+    district                 VARCHAR(255),
+
+    passed_out10             INTEGER,
+    passed_out11             INTEGER,
+    passed_out12             INTEGER,
+    marks10                  INTEGER,
+    marks11                  INTEGER,
+    marks12                  INTEGER,
+
+    cutoff                   INTEGER,
+    preferred_location       VARCHAR(255),
+    preferred_course         VARCHAR(255),
+    family_income_tier       VARCHAR(255),
+
+    family_income            INTEGER,
+    family_members           INTEGER,
+
+    motivational_score       DOUBLE PRECISION,
+    attendance_rate          DOUBLE PRECISION,
+    communication_freq       DOUBLE PRECISION,
+    interest_lvl             DOUBLE PRECISION,
+    family_support           DOUBLE PRECISION,
+
+    academic_score           INTEGER,
+
+    orphan                   VARCHAR(255),
+    single_parent            VARCHAR(255),
+    first_graduate           VARCHAR(255),
+    girlchild                VARCHAR(255),
+    attitude                 VARCHAR(255),
+
+    communication_frequency  VARCHAR(255),
+    school_type10            VARCHAR(255),
+    school_type11            VARCHAR(255),
+    school_type12            VARCHAR(255),
+    willing_hostel           VARCHAR(255),
+    any_scholarship          VARCHAR(255),
+    parents_occupation       VARCHAR(255),
+    private_or_govt_school   VARCHAR(255),
+    scholarship_eligibility  VARCHAR(255),
+    extra_curricular         VARCHAR(255),
+    school_fee6to12          VARCHAR(255)
+);
@@ -0,0 +1,39 @@
+-- Append-only log of every prediction served through MlService.
+-- Range-partitioned by month on created_at so "recent history" queries
+-- only touch the newest partitions. Upcoming partitions are created by
+-- PredictionHistoryWriter; the default partition catches anything else.
+
+CREATE TABLE prediction_history (
+    id                   BIGSERIAL,
+    created_at           TIMESTAMPTZ NOT NULL DEFAULT now(),
+    student_id           BIGINT,
+    model_version        VARCHAR(64),
+    dropout_probability  DOUBLE PRECISION,
+    deservingness_score  DOUBLE PRECISION,
+    risk_tier            VARCHAR(16),
+    explanation          TEXT,
+    latency_ms           INTEGER,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE INDEX idx_prediction_history_created_at
+    ON prediction_history (created_at DESC);
+
+CREATE INDEX idx_prediction_history_student
+    ON prediction_history (student_id, created_at DESC);
+
+CREATE TABLE prediction_history_default
+    PARTITION OF prediction_history DEFAULT;
+
+DO $$
+DECLARE
+    m DATE := date_trunc('month', now())::date;
+BEGIN
+    FOR i IN 0..2 LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF prediction_history FOR VALUES FROM (%L) TO (%L)',
+            'prediction_history_' || to_char(m + (i || ' month')::interval, 'YYYYMM'),
+            m + (i || ' month')::interval,
+            m + ((i + 1) || ' month')::interval);
+    END LOOP;
+END $$;
@@ -0,0 +1,187 @@
+package com.maatram.deserveiq.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.maatram.deserveiq.dto.DriftBaseline;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeatureDriftMonitorTest {
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder().findAndAddModules().build();
+
+    private final FeatureDriftMonitor monitor = new FeatureDriftMonitor(MAPPER, "", 50);
+
+    private static Map<String, Object> payload(Object cutoff, Object orphan) {
+        Map<String, Object> p = new HashMap<>();
+        p.put("cutoff", cutoff);
+        p.put("orphan", orphan);
+        return p;
+    }
+
+    // cutoff uniform over [from, from + 100), orphan "yes" for yesShare of rows
+    private static void record(FeatureDriftMonitor m, int rows, int from, double yesShare) {
+        for (int i = 0; i < rows; i++) {
+            boolean yes = (i % 100) < yesShare * 100;
+            m.record(payload(from + (i % 100), yes ? "Yes" : "No"));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> feature(Map<String, Object> report, String name) {
+        return (Map<String, Object>) ((Map<String, Object>) report.get("features")).get(name);
+    }
+
+    private static double psi(Map<String, Object> report, String name) {
+        return ((Number) feature(report, name).get("psi")).doubleValue();
+    }
+
+    @Test
+    void reportsNoDriftWithoutABaseline() {
+        record(monitor, 200, 100, 0.5);
+        Map<String, Object> report = monitor.report();
+
+        assertNull(report.get("baseline_captured_at"));
+        assertNull(report.get("max_psi"));
+        assertEquals(List.of(), report.get("drifted_features"));
+        assertEquals(200L, feature(report, "cutoff").get("count"));
+        assertFalse(feature(report, "cutoff").containsKey("drift"));
+    }
+
+    @Test
+    void identicalDistributionsHaveNearZeroPsi() {
+        record(monitor, 1000, 100, 0.5);
+        monitor.captureBaseline();
+        record(monitor, 1000, 100, 0.5);
+
+        Map<String, Object> report = monitor.report();
+        assertTrue(psi(report, "cutoff") < 0.01, "cutoff psi " + psi(report, "cutoff"));
+        assertTrue(psi(report, "orphan") < 0.01, "orphan psi " + psi(report, "orphan"));
+        assertEquals("stable", feature(report, "cutoff").get("drift"));
+        assertEquals("stable", feature(report, "orphan").get("drift"));
+        assertEquals(List.of(), report.get("drifted_features"));
+    }
+
+    @Test
+    void shiftedDistributionsHaveSignificantPsi() {
+        record(monitor, 1000, 100, 0.5);
+        monitor.captureBaseline();
+        record(monitor, 1000, 140, 0.9);
+
+        Map<String, Object> report = monitor.report();
+        assertTrue(psi(report, "cutoff") > 0.25, "cutoff psi " + psi(report, "cutoff"));
+        assertTrue(psi(report, "orphan") > 0.25, "orphan psi " + psi(report, "orphan"));
+        assertEquals("significant", feature(report, "cutoff").get("drift"));
+        assertEquals("significant", feature(report, "orphan").get("drift"));
+
+        @SuppressWarnings("unchecked")
+        List<String> drifted = (List<String>) report.get("drifted_features");
+        assertTrue(drifted.containsAll(List.of("cutoff", "orphan")));
+        assertEquals(Math.max(psi(report, "cutoff"), psi(report, "orphan")),
+                ((Number) report.get("max_psi")).doubleValue(), 1e-9);
+
+        // uniform over 100 values: std ~ 29.0, so a shift of 40 is ~1.38 std
+        double shift = ((Number) feature(report, "cutoff").get("mean_shift_std")).doubleValue();
+        assertEquals(40 / 29.0115, shift, 0.01);
+    }
+
+    @Test
+    void meanStdAndMissingRateAreReported() {
+        for (double v : new double[] { 2, 4, 4, 4, 5, 5, 7, 9 }) monitor.record(payload(v, "no"));
+        monitor.record(payload(null, null));
+        monitor.record(payload("not a number", ""));
+
+        Map<String, Object> cutoff = feature(monitor.report(), "cutoff");
+        assertEquals(8L, cutoff.get("count"));
+        assertEquals(5.0, (double) cutoff.get("mean"), 1e-9);
+        assertEquals(2.1381, (double) cutoff.get("std"), 1e-4);
+        assertEquals(0.2, (double) cutoff.get("missing_rate"), 1e-9);
+        assertEquals(0.2, (double) feature(monitor.report(), "orphan").get("missing_rate"), 1e-9);
+    }
+
+    @Test
+    void tooFewSamplesOnEitherSideIsInsufficientData() {
+        record(monitor, 100, 100, 0.5);
+        monitor.captureBaseline();
+        record(monitor, 49, 140, 0.9);
+
+        Map<String, Object> report = monitor.report();
+        assertEquals("insufficient_data", feature(report, "cutoff").get("drift"));
+        assertEquals("insufficient_data", feature(report, "orphan").get("drift"));
+        assertFalse(feature(report, "cutoff").containsKey("psi"));
+        assertEquals(0.0, ((Number) report.get("max_psi")).doubleValue());
+
+        FeatureDriftMonitor small = new FeatureDriftMonitor(MAPPER, "", 50);
+        record(small, 49, 100, 0.5);
+        small.captureBaseline();
+        record(small, 1000, 100, 0.5);
+        assertEquals("insufficient_data", feature(small.report(), "cutoff").get("drift"));
+    }
+
+    @Test
+    void captureBaselineFreezesLiveStatsAndStartsANewWindow() {
+        record(monitor, 300, 100, 0.5);
+        DriftBaseline b = monitor.captureBaseline();
+
+        assertEquals(300, b.getNumeric().get("cutoff").getCount());
+        assertEquals(300, b.getCategorical().get("orphan").getCount());
+
+        Map<String, Object> report = monitor.report();
+        assertEquals(b.getCaptured_at(), report.get("live_since"));
+        assertEquals(b.getCaptured_at(), report.get("baseline_captured_at"));
+        assertEquals(0L, feature(report, "cutoff").get("count"));
+        assertFalse(feature(report, "cutoff").containsKey("mean"));
+        assertEquals(0L, feature(report, "orphan").get("count"));
+        assertEquals(Map.of(), feature(report, "orphan").get("frequencies"));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> base = (Map<String, Object>) feature(report, "cutoff").get("baseline");
+        assertEquals(300L, base.get("count"));
+    }
+
+    @Test
+    void categoriesPastTheCapArePooledIntoOther() {
+        for (int i = 0; i < 60; i++) {
+            Map<String, Object> p = new HashMap<>();
+            p.put("attitude", "value-" + i);
+            monitor.record(p);
+        }
+        // a value seen before the cap keeps its own bucket
+        Map<String, Object> again = new HashMap<>();
+        again.put("attitude", "VALUE-0 ");
+        monitor.record(again);
+
+        @SuppressWarnings("unchecked")
+        Map<String, Double> shares = (Map<String, Double>) feature(monitor.report(), "attitude").get("frequencies");
+        assertEquals(51, shares.size());
+        assertEquals(round(10 / 61.0), shares.get("__other__"));
+        assertEquals(round(2 / 61.0), shares.get("value-0"));
+        assertFalse(shares.containsKey("value-50"));
+    }
+
+    @Test
+    void baselineIsPersistedAndReloaded(@TempDir Path dir) {
+        String file = dir.resolve("baseline.json").toString();
+        FeatureDriftMonitor first = new FeatureDriftMonitor(MAPPER, file, 50);
+        record(first, 1000, 100, 0.5);
+        first.captureBaseline();
+
+        FeatureDriftMonitor restarted = new FeatureDriftMonitor(MAPPER, file, 50);
+        record(restarted, 1000, 140, 0.5);
+        Map<String, Object> report = restarted.report();
+        assertNotNull(report.get("baseline_captured_at"));
+        assertTrue(psi(report, "cutoff") > 0.25);
+    }
+
+    private static double round(double v) {
+        return Math.round(v * 10000.0) / 10000.0;
+    }
+}
@@ -0,0 +1,160 @@
+package com.maatram.deserveiq.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MlBatcherTest {
+
+    private static final long NEVER_MS = 60_000;
+
+    private final List<List<Map<String, Object>>> calls = new CopyOnWriteArrayList<>();
+    private final List<Thread> senderThreads = new CopyOnWriteArrayList<>();
+    private MlBatcher batcher;
+
+    @AfterEach
+    void tearDown() {
+        if (batcher != null) batcher.shutdown();
+    }
+
+    // echoes each row's id back as its score, in row order
+    private List<Map<String, Object>> echo(List<Map<String, Object>> rows) {
+        calls.add(List.copyOf(rows));
+        senderThreads.add(Thread.currentThread());
+        List<Map<String, Object>> out = new ArrayList<>();
+        for (Map<String, Object> row : rows) out.add(Map.of("score", row.get("id")));
+        return out;
+    }
+
+    private MlBatcher batcher(Function<List<Map<String, Object>>, List<Map<String, Object>>> sender,
+                              int maxBatch, long maxWaitMs) {
+        batcher = new MlBatcher(sender, maxBatch, maxWaitMs);
+        return batcher;
+    }
+
+    private static Map<String, Object> row(int id) {
+        return Map.of("id", id);
+    }
+
+    private static Throwable failure(CompletableFuture<?> f) {
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> f.get(5, TimeUnit.SECONDS));
+        return ex.getCause();
+    }
+
+    @Test
+    void fullBatchIsSentOnceByTheFillingCallerAndDemuxedByPosition() throws Exception {
+        MlBatcher b = batcher(this::echo, 3, NEVER_MS);
+
+        CompletableFuture<Map<String, Object>> f1 = b.submit(row(1));
+        CompletableFuture<Map<String, Object>> f2 = b.submit(row(2));
+        assertFalse(f1.isDone());
+        assertFalse(f2.isDone());
+
+        CompletableFuture<Map<String, Object>> f3 = b.submit(row(3));
+
+        // the third submit filled the batch and sent it before returning
+        assertTrue(f3.isDone());
+        assertEquals(1, calls.size());
+        assertEquals(List.of(row(1), row(2), row(3)), calls.get(0));
+        assertSame(Thread.currentThread(), senderThreads.get(0));
+
+        assertEquals(1, f1.get().get("score"));
+        assertEquals(2, f2.get().get("score"));
+        assertEquals(3, f3.get().get("score"));
+    }
+
+    @Test
+    void concurrentCallersEachGetTheirOwnResult() throws Exception {
+        MlBatcher b = batcher(this::echo, 8, 5);
+
+        List<Thread> threads = new ArrayList<>();
+        Map<Integer, CompletableFuture<Map<String, Object>>> byId = new ConcurrentHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            int id = i;
+            threads.add(Thread.ofVirtual().start(() -> byId.put(id, b.submit(row(id)))));
+        }
+        for (Thread t : threads) t.join();
+
+        for (var e : byId.entrySet()) {
+            assertEquals(e.getKey(), e.getValue().get(5, TimeUnit.SECONDS).get("score"));
+        }
+        assertEquals(100, calls.stream().mapToInt(List::size).sum());
+        assertTrue(calls.stream().allMatch(c -> c.size() <= 8));
+    }
+
+    @Test
+    void partialBatchIsFlushedAfterMaxWaitOnAnotherThread() throws Exception {
+        MlBatcher b = batcher(this::echo, 32, 20);
+
+        CompletableFuture<Map<String, Object>> f1 = b.submit(row(1));
+        CompletableFuture<Map<String, Object>> f2 = b.submit(row(2));
+
+        assertEquals(1, f1.get(5, TimeUnit.SECONDS).get("score"));
+        assertEquals(2, f2.get(5, TimeUnit.SECONDS).get("score"));
+        assertEquals(1, calls.size());
+        assertEquals(List.of(row(1), row(2)), calls.get(0));
+        assertNotSame(Thread.currentThread(), senderThreads.get(0));
+    }
+
+    @Test
+    void senderFailureFailsEveryCallerInTheBatch() {
+        RuntimeException boom = new RuntimeException("ML down");
+        MlBatcher b = batcher(rows -> { throw boom; }, 2, NEVER_MS);
+
+        CompletableFuture<Map<String, Object>> f1 = b.submit(row(1));
+        CompletableFuture<Map<String, Object>> f2 = b.submit(row(2));
+
+        assertSame(boom, failure(f1));
+        assertSame(boom, failure(f2));
+    }
+
+    @Test
+    void resultCountMismatchFailsEveryCallerInTheBatch() {
+        MlBatcher b = batcher(rows -> List.of(Map.of("score", 1)), 2, NEVER_MS);
+
+        CompletableFuture<Map<String, Object>> f1 = b.submit(row(1));
+        CompletableFuture<Map<String, Object>> f2 = b.submit(row(2));
+
+        assertTrue(failure(f1).getMessage().contains("1 results for 2 rows"));
+        assertTrue(failure(f2).getMessage().contains("1 results for 2 rows"));
+    }
+
+    @Test
+    void rowErrorFailsOnlyThatCaller() throws Exception {
+        MlBatcher b = batcher(rows -> List.of(
+                Map.of("score", 1),
+                Map.of("error", "Model prediction failed", "detail", "bad marks_10"),
+                Map.of("score", 3)), 3, NEVER_MS);
+
+        CompletableFuture<Map<String, Object>> f1 = b.submit(row(1));
+        CompletableFuture<Map<String, Object>> f2 = b.submit(row(2));
+        CompletableFuture<Map<String, Object>> f3 = b.submit(row(3));
+
+        assertEquals(1, f1.get().get("score"));
+        assertEquals(3, f3.get().get("score"));
+        assertTrue(failure(f2).getMessage().contains("bad marks_10"));
+    }
+
+    @Test
+    void shutdownSendsWhateverIsPending() throws Exception {
+        MlBatcher b = batcher(this::echo, 32, NEVER_MS);
+
+        CompletableFuture<Map<String, Object>> f1 = b.submit(row(1));
+        b.shutdown();
+        batcher = null;
+
+        assertEquals(1, f1.get(5, TimeUnit.SECONDS).get("score"));
+        assertEquals(1, calls.size());
+    }
+}
@@ -0,0 +1,225 @@
+package com.maatram.deserveiq.service;
+
+import com.maatram.deserveiq.service.PredictionAdmission.Lane;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PredictionAdmissionTest {
+
+    private static final long LONG_WAIT_MS = 10_000;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private PredictionAdmission admission(int maxConcurrent, int maxBatch, int perUser,
+                                          int queueSize, long queueTimeoutMs) {
+        return new PredictionAdmission(registry, maxConcurrent, maxBatch, perUser, queueSize, queueTimeoutMs);
+    }
+
+    private double rejected(Lane lane, String reason) {
+        return registry.get("predict.admission.rejected")
+                .tag("lane", lane.name().toLowerCase())
+                .tag("reason", reason)
+                .counter().count();
+    }
+
+    private double queueDepth(Lane lane) {
+        return registry.get("predict.admission.queue_depth")
+                .tag("lane", lane.name().toLowerCase())
+                .gauge().value();
+    }
+
+    private double inFlight() {
+        return registry.get("predict.admission.in_flight").gauge().value();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) fail("condition not reached within 5s");
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void admitsUpToTheGlobalLimitAndTracksInFlight() {
+        PredictionAdmission a = admission(2, 1, 10, 0, 0);
+
+        assertTrue(a.tryAcquire("u1", Lane.INTERACTIVE));
+        assertTrue(a.tryAcquire("u2", Lane.INTERACTIVE));
+        assertEquals(2, inFlight());
+
+        a.release("u1", Lane.INTERACTIVE);
+        a.release("u2", Lane.INTERACTIVE);
+        assertEquals(0, inFlight());
+    }
+
+    @Test
+    void rejectsAUserOverTheirLimit() {
+        PredictionAdmission a = admission(10, 1, 2, 10, 0);
+
+        assertTrue(a.tryAcquire("alice", Lane.INTERACTIVE));
+        assertTrue(a.tryAcquire("alice", Lane.INTERACTIVE));
+        assertFalse(a.tryAcquire("alice", Lane.INTERACTIVE));
+        assertTrue(a.tryAcquire("bob", Lane.INTERACTIVE));
+
+        assertEquals(1, rejected(Lane.INTERACTIVE, "per_user"));
+        assertEquals(0, rejected(Lane.INTERACTIVE, "queue_full"));
+
+        // a finished request frees the user's slot again
+        a.release("alice", Lane.INTERACTIVE);
+        assertTrue(a.tryAcquire("alice", Lane.INTERACTIVE));
+    }
+
+    @Test
+    void rejectsWhenTheQueueIsFull() {
+        PredictionAdmission a = admission(1, 1, 10, 0, LONG_WAIT_MS);
+
+        assertTrue(a.tryAcquire("u1", Lane.INTERACTIVE));
+        assertFalse(a.tryAcquire("u2", Lane.INTERACTIVE));
+        assertFalse(a.tryAcquire("u3", Lane.BATCH));
+
+        assertEquals(1, rejected(Lane.INTERACTIVE, "queue_full"));
+        assertEquals(1, rejected(Lane.BATCH, "queue_full"));
+    }
+
+    @Test
+    void rejectsAWaiterWhoseTimeoutExpiresAndReturnsItsUserSlot() {
+        PredictionAdmission a = admission(1, 1, 1, 10, 50);
+
+        assertTrue(a.tryAcquire("holder", Lane.INTERACTIVE));
+
+        long start = System.nanoTime();
+        assertFalse(a.tryAcquire("alice", Lane.INTERACTIVE));
+        assertTrue((System.nanoTime() - start) / 1_000_000 >= 40);
+
+        assertEquals(1, rejected(Lane.INTERACTIVE, "timeout"));
+        assertEquals(0, queueDepth(Lane.INTERACTIVE));
+
+        // the timed-out wait must not leave alice counted against per-user
+        a.release("holder", Lane.INTERACTIVE);
+        assertTrue(a.tryAcquire("alice", Lane.INTERACTIVE));
+        assertEquals(0, rejected(Lane.INTERACTIVE, "per_user"));
+    }
+
+    @Test
+    void queuedRequestsCountAgainstTheUserLimit() throws Exception {
+        PredictionAdmission a = admission(1, 1, 1, 10, LONG_WAIT_MS);
+        assertTrue(a.tryAcquire("holder", Lane.INTERACTIVE));
+
+        Thread waiter = Thread.ofPlatform().start(() -> a.tryAcquire("alice", Lane.INTERACTIVE));
+        await(() -> queueDepth(Lane.INTERACTIVE) == 1);
+
+        assertFalse(a.tryAcquire("alice", Lane.INTERACTIVE));
+        assertEquals(1, rejected(Lane.INTERACTIVE, "per_user"));
+
+        a.release("holder", Lane.INTERACTIVE);
+        waiter.join(5_000);
+        assertFalse(waiter.isAlive());
+    }
+
+    @Test
+    void interruptedWaiterIsRejectedAndKeepsItsInterruptFlag() throws Exception {
+        PredictionAdmission a = admission(1, 1, 10, 10, LONG_WAIT_MS);
+        assertTrue(a.tryAcquire("holder", Lane.INTERACTIVE));
+
+        AtomicBoolean admitted = new AtomicBoolean(true);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        Thread waiter = Thread.ofPlatform().start(() -> {
+            admitted.set(a.tryAcquire("alice", Lane.INTERACTIVE));
+            interrupted.set(Thread.currentThread().isInterrupted());
+        });
+        await(() -> queueDepth(Lane.INTERACTIVE) == 1);
+
+        waiter.interrupt();
+        waiter.join(5_000);
+
+        assertFalse(admitted.get());
+        assertTrue(interrupted.get());
+        assertEquals(1, rejected(Lane.INTERACTIVE, "timeout"));
+        assertEquals(0, queueDepth(Lane.INTERACTIVE));
+        assertEquals(1, inFlight());
+    }
+
+    @Test
+    void batchLaneIsCappedBelowTheGlobalLimit() {
+        PredictionAdmission a = admission(10, 1, 10, 10, 50);
+
+        assertTrue(a.tryAcquire("u1", Lane.BATCH));
+        assertFalse(a.tryAcquire("u2", Lane.BATCH));
+        assertTrue(a.tryAcquire("u3", Lane.INTERACTIVE));
+
+        assertEquals(1, rejected(Lane.BATCH, "timeout"));
+    }
+
+    @Test
+    void waitingInteractiveRequestGoesBeforeAnEarlierBatchRequest() throws Exception {
+        PredictionAdmission a = admission(1, 1, 10, 10, LONG_WAIT_MS);
+        List<String> order = new CopyOnWriteArrayList<>();
+
+        assertTrue(a.tryAcquire("holder", Lane.INTERACTIVE));
+
+        Thread batch = Thread.ofPlatform().start(() -> {
+            if (a.tryAcquire("uploader", Lane.BATCH)) order.add("batch");
+        });
+        await(() -> queueDepth(Lane.BATCH) == 1);
+
+        Thread interactive = Thread.ofPlatform().start(() -> {
+            if (a.tryAcquire("student", Lane.INTERACTIVE)) order.add("interactive");
+        });
+        await(() -> queueDepth(Lane.INTERACTIVE) == 1);
+
+        a.release("holder", Lane.INTERACTIVE);
+        interactive.join(5_000);
+        assertEquals(List.of("interactive"), order);
+        assertEquals(1, queueDepth(Lane.BATCH));
+
+        a.release("student", Lane.INTERACTIVE);
+        batch.join(5_000);
+        assertEquals(List.of("interactive", "batch"), order);
+        assertEquals(0, rejected(Lane.BATCH, "timeout"));
+    }
+
+    @Test
+    void neverAdmitsMoreThanTheGlobalLimitUnderContention() throws Exception {
+        PredictionAdmission a = admission(4, 2, 1000, 1000, LONG_WAIT_MS);
+        Object guard = new Object();
+        int[] running = new int[1];
+        int[] peak = new int[1];
+        AtomicInteger refused = new AtomicInteger();
+
+        Thread[] threads = new Thread[200];
+        for (int i = 0; i < threads.length; i++) {
+            Lane lane = i % 5 == 0 ? Lane.BATCH : Lane.INTERACTIVE;
+            String user = "u" + (i % 7);
+            threads[i] = Thread.ofVirtual().start(() -> {
+                if (!a.tryAcquire(user, lane)) {
+                    refused.incrementAndGet();
+                    return;
+                }
+                synchronized (guard) {
+                    peak[0] = Math.max(peak[0], ++running[0]);
+                }
+                Thread.yield();
+                synchronized (guard) {
+                    running[0]--;
+                }
+                a.release(user, lane);
+            });
+        }
+        for (Thread t : threads) t.join(10_000);
+
+        assertEquals(0, refused.get());
+        assertTrue(peak[0] <= 4, "peak " + peak[0]);
+        assertEquals(0, inFlight());
+        assertEquals(0, queueDepth(Lane.INTERACTIVE));
+        assertEquals(0, queueDepth(Lane.BATCH));
+    }
+}
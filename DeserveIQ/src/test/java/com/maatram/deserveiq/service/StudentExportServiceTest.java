@@ -0,0 +1,142 @@
+package com.maatram.deserveiq.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.maatram.deserveiq.dto.PredictionHistoryEntry;
+import com.maatram.deserveiq.entity.Student;
+import com.maatram.deserveiq.repository.PredictionHistoryRepository;
+import com.maatram.deserveiq.repository.StudentRepository;
+import com.maatram.deserveiq.service.StudentExportService.Format;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class StudentExportServiceTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final StudentRepository students = mock(StudentRepository.class);
+    private final PredictionHistoryRepository history = mock(PredictionHistoryRepository.class);
+    private final EntityManager em = mock(EntityManager.class);
+
+    private StudentExportService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new StudentExportService(students, history, em, mapper);
+
+        // student 1 has a score, the rest have none
+        when(history.findLatestByStudents(anyCollection())).thenAnswer(inv -> {
+            Map<Long, PredictionHistoryEntry> out = new HashMap<>();
+            if (inv.<List<Long>>getArgument(0).contains(1L)) {
+                out.put(1L, PredictionHistoryEntry.builder()
+                        .student_id(1L)
+                        .created_at(Instant.parse("2026-10-01T10:15:30Z"))
+                        .model_version("run_1")
+                        .dropout_probability(0.25)
+                        .deservingness_score(75.0)
+                        .risk_tier("LOW")
+                        .build());
+            }
+            return out;
+        });
+    }
+
+    private void givenStudents(int n) {
+        List<Student> list = new ArrayList<>();
+        for (int i = 1; i <= n; i++) {
+            list.add(Student.builder().id((long) i).name("Student " + i).district("Chennai").marks10(80).build());
+        }
+        // a name that needs CSV quoting and JSON escaping
+        list.get(list.size() - 1).setName("O'Neil, \"Nila\"");
+        when(students.streamAll()).thenAnswer(inv -> list.stream());
+    }
+
+    private String export(Format format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.export(format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void ndjsonWritesExactlyOneObjectPerLine() throws Exception {
+        givenStudents(3);
+        String body = export(Format.NDJSON);
+
+        assertTrue(body.endsWith("\n"));
+        String[] lines = body.split("\n", -1);
+        assertEquals(4, lines.length);
+        assertEquals("", lines[3]);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(lines[i].startsWith("{") && lines[i].endsWith("}"), "line " + i + ": [" + lines[i] + "]");
+            JsonNode row = mapper.readTree(lines[i]);
+            assertEquals(i + 1, row.get("id").asLong());
+            assertTrue(row.has("risk_tier"));
+        }
+
+        JsonNode scored = mapper.readTree(lines[0]);
+        assertEquals("LOW", scored.get("risk_tier").asText());
+        assertEquals(0.25, scored.get("dropout_probability").asDouble());
+        assertEquals("2026-10-01T10:15:30Z", scored.get("scored_at").asText());
+
+        JsonNode unscored = mapper.readTree(lines[1]);
+        assertTrue(unscored.get("risk_tier").isNull());
+
+        assertEquals("O'Neil, \"Nila\"", mapper.readTree(lines[2]).get("name").asText());
+    }
+
+    @Test
+    void csvWritesAHeaderAndOneRecordPerLine() throws Exception {
+        givenStudents(3);
+        String body = export(Format.CSV);
+
+        String[] lines = body.split("\r\n", -1);
+        assertEquals(5, lines.length);
+        assertEquals("", lines[4]);
+
+        List<CSVRecord> records = CSVFormat.DEFAULT.builder()
+                .setHeader().setSkipHeaderRecord(true).build()
+                .parse(new StringReader(body)).getRecords();
+        assertEquals(3, records.size());
+
+        for (int i = 0; i < 3; i++) {
+            // each physical line parses on its own to the same record
+            List<CSVRecord> single = CSVFormat.DEFAULT.parse(new StringReader(lines[i + 1])).getRecords();
+            assertEquals(1, single.size());
+            assertEquals(records.get(i).toList(), single.get(0).toList());
+            assertEquals(String.valueOf(i + 1), records.get(i).get("id"));
+        }
+
+        assertEquals("LOW", records.get(0).get("risk_tier"));
+        assertEquals("run_1", records.get(0).get("model_version"));
+        assertEquals("", records.get(1).get("risk_tier"));
+        assertEquals("O'Neil, \"Nila\"", records.get(2).get("name"));
+    }
+
+    @Test
+    void readsScoresOncePerChunkAndDetachesEveryRow() throws Exception {
+        givenStudents(1201);
+        String body = export(Format.NDJSON);
+
+        assertEquals(1201, body.split("\n").length);
+        verify(history, times(3)).findLatestByStudents(anyCollection());
+        verify(em, times(1201)).detach(any(Student.class));
+    }
+}
@@ -0,0 +1,119 @@
+package com.maatram.deserveiq.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogHistogramTest {
+
+    // bucket midpoints are within (GAMMA - 1) / (GAMMA + 1) ~ 2% of any value in the bucket
+    private static final double REL_ERROR = 0.021;
+
+    private static double quantile(LogHistogram h, double q) {
+        return LogHistogram.quantile(h.zeroCount(), h.copyBuckets(), q);
+    }
+
+    private static double cdf(LogHistogram h, double x) {
+        return LogHistogram.cdf(h.zeroCount(), h.copyBuckets(), x);
+    }
+
+    private static void assertQuantilesMatch(double[] values) {
+        LogHistogram h = new LogHistogram();
+        for (double v : values) h.add(v);
+
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        for (double q : new double[] { 0.0, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 1.0 }) {
+            double exact = sorted[(int) Math.floor(q * (sorted.length - 1))];
+            double approx = quantile(h, q);
+            assertEquals(exact, approx, exact * REL_ERROR, "q=" + q);
+        }
+    }
+
+    @Test
+    void quantilesOfAUniformDistributionAreWithinTheRelativeErrorBound() {
+        double[] values = new double[10_000];
+        for (int i = 0; i < values.length; i++) values[i] = i + 1;
+        assertQuantilesMatch(values);
+    }
+
+    @Test
+    void quantilesOfASkewedDistributionAreWithinTheRelativeErrorBound() {
+        Random rnd = new Random(42);
+        double[] values = new double[20_000];
+        // log-normal spans several orders of magnitude, like family_income
+        for (int i = 0; i < values.length; i++) values[i] = Math.exp(9 + 1.5 * rnd.nextGaussian());
+        assertQuantilesMatch(values);
+    }
+
+    @Test
+    void cdfOfAUniformDistributionTracksTheTrueShare() {
+        LogHistogram h = new LogHistogram();
+        int n = 10_000;
+        for (int i = 1; i <= n; i++) h.add(i);
+
+        for (double x : new double[] { 10, 100, 1_000, 2_500, 5_000, 9_000 }) {
+            double exact = x / n;
+            // x's whole bucket is counted, so cdf may overshoot by up to one bucket width
+            assertEquals(exact, cdf(h, x), exact * (LogHistogram.GAMMA - 1) + 1.0 / n, "x=" + x);
+        }
+        assertEquals(1.0, cdf(h, n));
+        assertEquals(1.0, cdf(h, 1e12));
+        assertEquals(0.0, cdf(h, -1));
+    }
+
+    @Test
+    void zeroNegativeTinyAndNanValuesShareTheZeroBucket() {
+        LogHistogram h = new LogHistogram();
+        h.add(0);
+        h.add(-5);
+        h.add(LogHistogram.MIN / 2);
+        h.add(Double.NaN);
+        for (int i = 0; i < 4; i++) h.add(100);
+
+        assertEquals(4, h.zeroCount());
+        assertEquals(4, Arrays.stream(h.copyBuckets()).sum());
+
+        assertEquals(0.0, quantile(h, 0.0));
+        assertEquals(0.0, quantile(h, 0.4));
+        assertEquals(100, quantile(h, 0.6), 100 * REL_ERROR);
+
+        assertEquals(0.0, cdf(h, -1));
+        assertEquals(0.5, cdf(h, 0));
+        assertEquals(0.5, cdf(h, 50));
+        assertEquals(1.0, cdf(h, 100));
+    }
+
+    @Test
+    void valuesAboveMaxAreClampedIntoTheLastBucket() {
+        LogHistogram h = new LogHistogram();
+        h.add(LogHistogram.MAX * 1000);
+        h.add(Double.MAX_VALUE);
+
+        long[] buckets = h.copyBuckets();
+        assertEquals(2, buckets[LogHistogram.BUCKETS - 1]);
+        assertEquals(2, Arrays.stream(buckets).sum());
+
+        // reported at the top of the range, not at the raw value
+        assertEquals(LogHistogram.MAX, quantile(h, 0.5), LogHistogram.MAX * REL_ERROR);
+        assertEquals(0.0, cdf(h, LogHistogram.MAX / 2));
+        assertEquals(1.0, cdf(h, Double.MAX_VALUE));
+    }
+
+    @Test
+    void emptyHistogramHasNoQuantilesAndResetEmptiesIt() {
+        LogHistogram h = new LogHistogram();
+        assertTrue(Double.isNaN(quantile(h, 0.5)));
+        assertTrue(Double.isNaN(cdf(h, 1)));
+
+        h.add(0);
+        h.add(42);
+        h.reset();
+        assertEquals(0, h.zeroCount());
+        assertEquals(0, Arrays.stream(h.copyBuckets()).sum());
+        assertTrue(Double.isNaN(quantile(h, 0.5)));
+    }
+}
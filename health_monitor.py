@@ -33,6 +33,16 @@ logging.getLogger('').addHandler(console)
 
 logger = logging.getLogger(__name__)
 
+def degraded_dependencies(response):
+    """
+    Return "name=STATUS" for every dependency in a /health body that is not UP
+    """
+    try:
+        deps = response.json().get("dependencies", {})
+    except (ValueError, AttributeError):
+        return []
+    return [f"{name}={d.get('status')}" for name, d in deps.items() if d.get("status") != "UP"]
+
 def check_health(url, timeout=10):
     """
     Check health of a single endpoint
@@ -43,6 +53,11 @@ def check_health(url, timeout=10):
         response_time = time.time() - start_time
 
         if response.status_code == 200:
+            # Spring backend reports its own view of ML + database reachability
+            degraded = degraded_dependencies(response)
+            if degraded:
+                logger.warning(f"⚠️  {url} - Status: {response.status_code} - Response Time: {response_time:.2f}s - Degraded: {', '.join(degraded)}")
+                return False
             logger.info(f"✅ {url} - Status: {response.status_code} - Response Time: {response_time:.2f}s - Body: {response.text}")
             return True
         else:
@@ -0,0 +1,155 @@
+#!/usr/bin/env python3
+"""
+Load harness for DeserveIQ single predictions
+Fires concurrent POST /api/predict/single calls at the Spring backend for a
+fixed duration and reports throughput and latency percentiles.
+
+Admission control caps each user at predict.admission.per-user requests in
+flight (8 by default); anything above that comes back as 429, and the worker
+waits out its Retry-After before trying again. To drive more concurrency,
+spread the workers over several identities:
+
+    --accounts FILE   one "email:password" per line, each logged in once
+    --tokens FILE     one bearer token per line (e.g. issued out of band)
+
+or, with the single built-in admin account, raise the limit for the test run
+only by starting the backend with PREDICT_ADMISSION_PER_USER=<n> (the global
+predict.admission.max-concurrent limit still applies).
+
+Usage:
+    python3 load_test.py --base-url http://localhost:8080 --concurrency 8 --duration 30
+    python3 load_test.py --accounts accounts.txt --concurrency 64 --duration 30
+"""
+
+import argparse
+import json
+import math
+import threading
+import time
+import urllib.error
+import urllib.request
+
+SAMPLE_PAYLOAD = {
+    "name": "Load Test",
+    "district": "Chennai",
+    "marks_10": 82, "marks_11": 78, "marks_12": 85,
+    "cutoff": 172,
+    "preferred_location": "any", "preferred_course": "any",
+    "family_income_tier": "low", "family_income": 12000, "family_members": 4,
+    "motivational_score": 4, "attendance_rate": 88,
+    "communication_freq": 3, "interest_lvl": 7, "family_support": 6,
+    "orphan": "No", "single_parent": "No", "first_graduate": "Yes",
+    "girlchild": "Yes", "attitude": "Positive"
+}
+
+
+def post(url, body, headers, timeout):
+    req = urllib.request.Request(url, data=json.dumps(body).encode("utf-8"), method="POST",
+                                 headers={"Content-Type": "application/json", **headers})
+    try:
+        with urllib.request.urlopen(req, timeout=timeout) as resp:
+            return resp.status, resp.headers, resp.read()
+    except urllib.error.HTTPError as e:
+        return e.code, e.headers, e.read()
+
+
+def login(base_url, email, password):
+    status, _, body = post(f"{base_url}/auth/login", {"email": email, "password": password}, {}, 30)
+    if status != 200:
+        raise SystemExit(f"login failed for {email}: HTTP {status}")
+    return body.decode("utf-8").strip()
+
+
+def read_lines(path):
+    with open(path) as f:
+        return [line.strip() for line in f if line.strip() and not line.startswith("#")]
+
+
+def tokens_for(args, base_url):
+    if args.tokens:
+        return read_lines(args.tokens)
+    if args.accounts:
+        tokens = []
+        for line in read_lines(args.accounts):
+            email, _, password = line.partition(":")
+            tokens.append(login(base_url, email, password))
+        return tokens
+    return [login(base_url, args.email, args.password)]
+
+
+def percentile(sorted_vals, q):
+    if not sorted_vals:
+        return 0.0
+    idx = min(len(sorted_vals) - 1, max(0, int(round(q * (len(sorted_vals) - 1)))))
+    return sorted_vals[idx]
+
+
+def worker(url, headers, deadline, results, lock):
+    local = []
+    while time.time() < deadline:
+        start = time.perf_counter()
+        retry_after = None
+        try:
+            status, resp_headers, _ = post(url, SAMPLE_PAYLOAD, headers, 120)
+            retry_after = resp_headers.get("Retry-After")
+        except (urllib.error.URLError, OSError):
+            status = -1
+        local.append((status, time.perf_counter() - start))
+        if status == 429:
+            # back off like a real client instead of hammering the server with rejected calls
+            time.sleep(float(retry_after or 1))
+    with lock:
+        results.extend(local)
+
+
+def main():
+    parser = argparse.ArgumentParser(description="DeserveIQ prediction load test")
+    parser.add_argument("--base-url", default="http://localhost:8080")
+    parser.add_argument("--concurrency", type=int, default=8)
+    parser.add_argument("--duration", type=int, default=30, help="seconds")
+    parser.add_argument("--email", default="admin@maatram.org")
+    parser.add_argument("--password", default="password")
+    parser.add_argument("--accounts", help='file of "email:password" lines; workers are spread across them')
+    parser.add_argument("--tokens", help="file of bearer tokens, one per line; workers are spread across them")
+    parser.add_argument("--per-user-limit", type=int, default=8,
+                        help="the backend's predict.admission.per-user, used only to warn")
+    args = parser.parse_args()
+
+    base_url = args.base_url.rstrip("/")
+    tokens = tokens_for(args, base_url)
+    url = f"{base_url}/api/predict/single"
+
+    per_identity = math.ceil(args.concurrency / len(tokens))
+    print(f"identities={len(tokens)} workers_per_identity<={per_identity}")
+    if per_identity > args.per_user_limit:
+        print(f"warning: {per_identity} workers per identity exceeds per-user limit {args.per_user_limit}; "
+              f"expect 429s (add --accounts/--tokens or raise PREDICT_ADMISSION_PER_USER for the run)")
+
+    results, lock = [], threading.Lock()
+    deadline = time.time() + args.duration
+    threads = [threading.Thread(target=worker,
+                                args=(url, {"Authorization": f"Bearer {tokens[i % len(tokens)]}"},
+                                      deadline, results, lock),
+                                daemon=True)
+               for i in range(args.concurrency)]
+
+    started = time.time()
+    for t in threads:
+        t.start()
+    for t in threads:
+        t.join()
+    elapsed = time.time() - started
+
+    ok = sorted(lat for status, lat in results if status == 200)
+    shed = sum(1 for status, _ in results if status == 429)
+    failed = len(results) - len(ok) - shed
+
+    print(f"concurrency={args.concurrency} duration={elapsed:.1f}s requests={len(results)}")
+    print(f"ok={len(ok)} rejected_429={shed} failed={failed}")
+    print(f"throughput={len(ok) / elapsed:.1f} req/s")
+    print(f"latency p50={percentile(ok, 0.50) * 1000:.0f}ms "
+          f"p95={percentile(ok, 0.95) * 1000:.0f}ms p99={percentile(ok, 0.99) * 1000:.0f}ms")
+
+
+if __name__ == "__main__":
+    main()
@@ -312,6 +312,98 @@ def rule_based_contributions(row):
     final_rule_prob = max(0.01, min(0.95, 0.10 + score))
     return reasons, final_rule_prob
 
+# ----------------------------
+# SCORING (shared by single + batch)
+# ----------------------------
+# alternate keys the frontend sends -> canonical names
+ALIASES = {
+    "motivation_level": "motivational_score",
+    "communication_frequency": "communication_freq",
+    "interest_level": "interest_lvl",
+    "girl_child": "girlchild",
+}
+
+INCOME_TIER_NUMERIC = {"low": 1000, "medium": 5000, "high": 15000}
+
+def canonicalize_record(rec):
+    # add_features resolves aliases and income fallbacks once per frame, so
+    # resolve them per row first: a row must score the same whether it
+    # arrives alone on /predict or in a batch next to differently-keyed rows
+    rec = dict(rec)
+    for alias, canon in ALIASES.items():
+        if alias in rec and canon not in rec:
+            rec[canon] = rec[alias]
+    rec.setdefault("girlchild", "No")
+
+    income = rec.get("family_income_numeric")
+    if income is None or (isinstance(income, float) and np.isnan(income)):
+        rec["family_income_numeric"] = INCOME_TIER_NUMERIC.get(rec.get("family_income_tier"), np.nan)
+    return rec
+
+def prepare_frame(records):
+    # build DataFrame and canonicalize fields
+    df = pd.DataFrame([canonicalize_record(r) for r in records])
+    df = add_features(df)
+
+    # ensure model columns exist before indexing
+    missing_num = [c for c in USE_NUM if c not in df.columns]
+    if missing_num:
+        # create missing numeric columns as zeros
+        for c in missing_num:
+            df[c] = 0.0
+
+    missing_cat = [c for c in CAT_COLS if c not in df.columns]
+    if missing_cat:
+        for c in missing_cat:
+            df[c] = "any"
+
+    return df
+
+def build_result(row, model_prob):
+    # rule-based reasons
+    rule_reasons, rule_prob = rule_based_contributions(row)
+
+    # combine model + rule (50/50 blend)
+    final_prob = round((model_prob * 0.5) + (rule_prob * 0.5), 3)
+    deservingness = round((1.0 - final_prob) * 100.0, 2)
+
+    if final_prob >= 0.7:
+        tier = "HIGH"
+    elif final_prob >= 0.4:
+        tier = "MEDIUM"
+    else:
+        tier = "LOW"
+
+    # include top global features if available
+    top_features = [f for f,_ in meta.get("global_feature_importances", [])[:6]]
+
+    explanation = {
+        "final_probability_used": final_prob,
+        "rule_probability": round(rule_prob, 3),
+        "model_probability": round(model_prob, 3),
+        "human_readable_reasons": rule_reasons,
+        "global_top_model_features": top_features
+    }
+
+    return {
+        "dropout_probability": final_prob,
+        "deservingness_score": deservingness,
+        "risk_tier": tier,
+        "model_version": latest_run,
+        "explanation": explanation
+    }
+
+def score_records(records):
+    df = prepare_frame(records)
+
+    # prepare X for model (order must match training)
+    X = df[USE_NUM + CAT_COLS].copy()
+
+    # one vectorized call for the whole frame
+    probs = model.predict_proba(X)[:, 1]
+
+    return [build_result(df.iloc[i].to_dict(), float(probs[i])) for i in range(len(df))]
+
 # ----------------------------
 # PREDICT ENDPOINT
 # ----------------------------
@@ -322,63 +414,49 @@ def predict():
         if data is None:
             return jsonify({"error":"No JSON body provided"}), 400
 
-        # build DataFrame and canonicalize fields
-        df = pd.DataFrame([data])
-        df = add_features(df)
-
-        # ensure model columns exist before indexing
-        missing_num = [c for c in USE_NUM if c not in df.columns]
-        if missing_num:
-            # create missing numeric columns as zeros
-            for c in missing_num:
-                df[c] = 0.0
-
-        missing_cat = [c for c in CAT_COLS if c not in df.columns]
-        if missing_cat:
-            for c in missing_cat:
-                df[c] = "any"
-
-        # prepare X for model (order must match training)
-        X = df[USE_NUM + CAT_COLS].copy()
-
         # model prediction (safe)
         try:
-            model_prob = float(model.predict_proba(X)[0][1])
+            result = score_records([data])[0]
         except Exception as me:
             # return useful debug to caller (without full stack)
             return jsonify({"error":"Model prediction failed", "detail": str(me)}), 500
 
-        # rule-based reasons
-        rule_reasons, rule_prob = rule_based_contributions(df.iloc[0].to_dict())
+        return jsonify(result)
 
-        # combine model + rule (50/50 blend)
-        final_prob = round((model_prob * 0.5) + (rule_prob * 0.5), 3)
-        deservingness = round((1.0 - final_prob) * 100.0, 2)
+    except Exception as e:
+        return jsonify({"error":"Unexpected server error", "detail": str(e)}), 500
 
-        if final_prob >= 0.7:
-            tier = "HIGH"
-        elif final_prob >= 0.4:
-            tier = "MEDIUM"
-        else:
-            tier = "LOW"
-
-        # include top global features if available
-        top_features = [f for f,_ in meta.get("global_feature_importances", [])[:6]]
-
-        explanation = {
-            "final_probability_used": final_prob,
-            "rule_probability": round(rule_prob, 3),
-            "model_probability": round(model_prob, 3),
-            "human_readable_reasons": rule_reasons,
-            "global_top_model_features": top_features
-        }
-
-        return jsonify({
-            "dropout_probability": final_prob,
-            "deservingness_score": deservingness,
-            "risk_tier": tier,
-            "explanation": explanation
-        })
+# ----------------------------
+# BATCH PREDICT ENDPOINT
+# ----------------------------
+# Body: a JSON list of rows (or {"rows": [...]}).
+# Response: {"results": [...]} in the same order as the input rows; a row
+# that cannot be scored gets {"error": ..., "detail": ...} in its place.
+def score_one(row):
+    try:
+        return score_records([row])[0]
+    except Exception as me:
+        return {"error": "Model prediction failed", "detail": str(me)}
+
+@app.route("/predict/batch", methods=["POST"])
+def predict_batch():
+    try:
+        data = request.get_json(force=True)
+        if isinstance(data, dict):
+            data = data.get("rows")
+        if not isinstance(data, list):
+            return jsonify({"error":"Expected a JSON list of rows"}), 400
+        if not data:
+            return jsonify({"results": []})
+
+        try:
+            results = score_records(data)
+        except Exception:
+            # one bad row must not fail the unrelated rows batched with it:
+            # rescore row by row and report the failure on that row only
+            results = [score_one(row) for row in data]
+
+        return jsonify({"results": results})
 
     except Exception as e:
         return jsonify({"error":"Unexpected server error", "detail": str(e)}), 500